@@ -0,0 +1,83 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits one JDK Flight Recorder event per solve, so solver runs show up in
+ * a recording next to GC and allocation data.
+ * Lives in the jfr source set, which is only compiled on JDK 11+ since
+ * jdk.jfr is not part of the Java 8 API. Register it with
+ * Instrumentation.enableFlightRecorder(), which loads it reflectively.
+ *
+ * @author Naren Yenuganti
+ */
+
+class JfrSolveListener implements SolverListener {
+
+    @Name("assignment.Solve")
+    @Label("Assignment Solve")
+    @Category("Assignment")
+    @Description("One run of an assignment solver")
+    static class SolveEvent extends Event {
+        @Label("Engine")
+        String engine;
+        @Label("Rows")
+        int rows;
+        @Label("Columns")
+        int cols;
+        @Label("Total Time")
+        @Timespan
+        long totalNanos;
+        @Label("Prepare Time")
+        @Timespan
+        long prepareNanos;
+        @Label("Reduce Time")
+        @Timespan
+        long reduceNanos;
+        @Label("Cover Time")
+        @Timespan
+        long coverNanos;
+        @Label("Adjust Time")
+        @Timespan
+        long adjustNanos;
+        @Label("Assign Time")
+        @Timespan
+        long assignNanos;
+        @Label("Augment Time")
+        @Timespan
+        long augmentNanos;
+        @Label("Iterations")
+        int iterations;
+        @Label("Augmentations")
+        int augmentations;
+        @Label("Matching Phases")
+        int matchingPhases;
+        @Label("Allocated Bytes")
+        long allocatedBytes;
+    }
+
+    @Override
+    public void solved(SolverMetrics metrics) {
+        SolveEvent event = new SolveEvent();
+        if (!event.isEnabled())
+            return;
+        event.engine = metrics.getEngine();
+        event.rows = metrics.getRows();
+        event.cols = metrics.getCols();
+        event.totalNanos = metrics.getTotalNanos();
+        event.prepareNanos = metrics.getPhaseNanos(SolverMetrics.Phase.PREPARE);
+        event.reduceNanos = metrics.getPhaseNanos(SolverMetrics.Phase.REDUCE);
+        event.coverNanos = metrics.getPhaseNanos(SolverMetrics.Phase.COVER);
+        event.adjustNanos = metrics.getPhaseNanos(SolverMetrics.Phase.ADJUST);
+        event.assignNanos = metrics.getPhaseNanos(SolverMetrics.Phase.ASSIGN);
+        event.augmentNanos = metrics.getPhaseNanos(SolverMetrics.Phase.AUGMENT);
+        event.iterations = metrics.getIterations();
+        event.augmentations = metrics.getAugmentations();
+        event.matchingPhases = metrics.getMatchingPhases();
+        event.allocatedBytes = metrics.getAllocatedBytes();
+        event.commit();
+    }
+}
@@ -0,0 +1,77 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole solves of a square maximization instance with each engine.
+ *
+ * @author Naren Yenuganti
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EndToEndBenchmark {
+
+    @Param({"uniform", "shuffle", "ties", "adversarial"})
+    public String kind;
+
+    @Param({"5", "50", "500", "5000"})
+    public int size;
+
+    @Param("42")
+    public long seed;
+
+    private int[][] matrix;
+    private Object assignment;
+    private Object solver;
+
+    @Setup
+    public void setUp() throws Throwable {
+        matrix = Instances.generate(kind, size, seed);
+        assignment = Solvers.assignment(matrix);
+        solver = Solvers.solver(true);
+    }
+
+    @Benchmark
+    public Object munkres() throws Throwable {
+        Solvers.input(matrix);
+        Solvers.MUNKRES.invoke(assignment);
+        return Solvers.GET_TOTAL.invoke(assignment);
+    }
+
+    @Benchmark
+    public Object shortestPath() throws Throwable {
+        return Solvers.SOLVE.invoke(solver, matrix);
+    }
+
+    @Benchmark
+    public Object auction() throws Throwable {
+        return Solvers.AUCTION_SOLVE.invoke(Solvers.auction(matrix));
+    }
+
+    @Benchmark
+    public Object bottleneck() throws Throwable {
+        return Solvers.BOTTLENECK_SOLVE.invoke(Solvers.bottleneck(matrix, false));
+    }
+
+    @Benchmark
+    public Object bottleneckTieBreak() throws Throwable {
+        return Solvers.BOTTLENECK_SOLVE.invoke(Solvers.bottleneck(matrix, true));
+    }
+}
@@ -0,0 +1,89 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Seeded instance generators for the solver benchmarks.
+ * The same kind, size and seed always give the same matrix.
+ *
+ * @author Naren Yenuganti
+ */
+
+public final class Instances {
+
+    private Instances() {
+    }
+
+    /**
+     * @param kind uniform, shuffle, ties or adversarial
+     * @param size Rows and columns of the square matrix
+     * @param seed Random seed
+     * @return Generated matrix
+     */
+    public static int[][] generate(String kind, int size, long seed) {
+        switch (kind) {
+            case "uniform":
+                return uniform(size, seed, 1000);
+            case "shuffle":
+                return shuffle(size, seed);
+            case "ties":
+                return uniform(size, seed, 3);
+            case "adversarial":
+                return adversarial(size);
+            default:
+                throw new IllegalArgumentException("Unknown instance kind: " + kind);
+        }
+    }
+
+    /**
+     * Independent uniform values in [0, bound).
+     */
+    public static int[][] uniform(int size, long seed, int bound) {
+        Random random = new Random(seed);
+        int[][] matrix = new int[size][size];
+        for (int[] row : matrix) {
+            for (int col = 0; col < size; col++) {
+                row[col] = random.nextInt(bound);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Preference rows as Shuffle makes them: 100 rounds, each adding one
+     * point along a random permutation, so every row and column sums to 100.
+     */
+    public static int[][] shuffle(int size, long seed) {
+        Random random = new Random(seed);
+        int[][] matrix = new int[size][size];
+        ArrayList<Integer> row = new ArrayList<>(size);
+        ArrayList<Integer> col = new ArrayList<>(size);
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < size; ++i) {
+                row.add(i);
+                col.add(i);
+            }
+            int left = size;
+            for (int i = 0; i < size; ++i) {
+                ++matrix[row.remove(random.nextInt(left))][col.remove(random.nextInt(left))];
+                --left;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * cost[i][j] = i * j. Every optimal augmenting path is long and the
+     * zero pattern changes on every adjustment, the classic hard case.
+     */
+    public static int[][] adversarial(int size) {
+        int[][] matrix = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                matrix[row][col] = row * col;
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,148 @@
+package bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Access to the solver classes for the benchmarks. The solvers live in the
+ * default package, which named packages cannot import, and JMH does not
+ * accept benchmarks in the default package. Method handles are resolved
+ * once, so the calls inline like direct ones.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class Solvers {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Class<?> ASSIGNMENT = load("Assignment");
+    private static final MethodHandle NEW_ASSIGNMENT = constructor(ASSIGNMENT,
+            boolean.class, int[][].class, ArrayList.class, HashMap.class);
+    private static final MethodHandle SET_INPUT = setter(ASSIGNMENT, "_assignment");
+    private static final MethodHandle NUM_LINES = getter(ASSIGNMENT, "numLines");
+    private static final MethodHandle MATRIX = getter(ASSIGNMENT, "assignmentCopy");
+    static final MethodHandle MUNKRES = method(ASSIGNMENT, "munkres");
+    static final MethodHandle PREPARE = method(ASSIGNMENT, "prepare");
+    static final MethodHandle STEP_TWO = method(ASSIGNMENT, "stepTwo");
+    static final MethodHandle STEP_THREE = method(ASSIGNMENT, "stepThree");
+    static final MethodHandle COVER_ZEROS = method(ASSIGNMENT, "coverZeros");
+    static final MethodHandle CREATE_ADDITIONAL_ZEROS = method(ASSIGNMENT, "createAdditionalZeros");
+    static final MethodHandle OPTIMIZATION = method(ASSIGNMENT, "optimization");
+    static final MethodHandle GET_TOTAL = method(ASSIGNMENT, "getTotal");
+    private static final Class<?> SOLVER = load("AssignmentSolver");
+    private static final MethodHandle NEW_SOLVER = constructor(SOLVER, boolean.class);
+    static final MethodHandle SOLVE = method(SOLVER, "solve", int[][].class);
+    private static final Class<?> AUCTION = load("AuctionSolver");
+    private static final MethodHandle NEW_AUCTION = constructor(AUCTION, int[][].class, boolean.class);
+    static final MethodHandle AUCTION_SOLVE = method(AUCTION, "solve");
+    private static final Class<?> BOTTLENECK = load("BottleneckSolver");
+    private static final MethodHandle NEW_BOTTLENECK = constructor(BOTTLENECK, int[][].class, boolean.class, boolean.class);
+    static final MethodHandle BOTTLENECK_SOLVE = method(BOTTLENECK, "solve");
+    private static final Class<?> QUICKSTART = load("SheetsQuickstart");
+    static final MethodHandle TRANSPOSE = method(QUICKSTART, "transposeMatrix", int[][].class);
+
+    private Solvers() {
+    }
+
+    /**
+     * Creates an Assignment without running it (manual mode) and makes the
+     * matrix the static input its steps read.
+     * @param matrix Square matrix to maximize
+     * @return Assignment instance
+     */
+    static Object assignment(int[][] matrix) throws Throwable {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+        }));
+        try {
+            return NEW_ASSIGNMENT.invoke(true, matrix, new ArrayList<>(), new HashMap<>());
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    /**
+     * Makes the matrix the input of the next Assignment step calls.
+     */
+    static void input(int[][] matrix) throws Throwable {
+        SET_INPUT.invoke(matrix);
+    }
+
+    static int numLines(Object assignment) throws Throwable {
+        return (int) NUM_LINES.invoke(assignment);
+    }
+
+    static int size(Object assignment) throws Throwable {
+        return ((int[][]) MATRIX.invoke(assignment)).length;
+    }
+
+    static Object solver(boolean maximize) throws Throwable {
+        return NEW_SOLVER.invoke(maximize);
+    }
+
+    static Object auction(int[][] matrix) throws Throwable {
+        return NEW_AUCTION.invoke(matrix, true);
+    }
+
+    static Object bottleneck(int[][] matrix, boolean tieBreak) throws Throwable {
+        return NEW_BOTTLENECK.invoke(matrix, true, tieBreak);
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle method(Class<?> owner, String name, Class<?>... parameters) {
+        try {
+            Method method = owner.getDeclaredMethod(name, parameters);
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> owner, Class<?>... parameters) {
+        try {
+            Constructor<?> constructor = owner.getDeclaredConstructor(parameters);
+            constructor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(constructor);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle getter(Class<?> owner, String name) {
+        try {
+            Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            return LOOKUP.unreflectGetter(field);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle setter(Class<?> owner, String name) {
+        try {
+            Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            return LOOKUP.unreflectSetter(field);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
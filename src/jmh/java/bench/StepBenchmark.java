@@ -0,0 +1,108 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single Munkres steps of Assignment. Before every invocation the solve is
+ * replayed up to the measured step on a batch of independent Assignment
+ * instances, and the invocation runs the step on each of them, so only
+ * that step is timed. A step on a small matrix takes microseconds, about
+ * what JMH spends around every invocation with a per-invocation setup;
+ * the batch spreads that cost over BATCH steps. At 5000 a batch would not
+ * fit in a default heap, and the steps take long enough there to be
+ * measured through EndToEndBenchmark.
+ *
+ * @author Naren Yenuganti
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StepBenchmark {
+
+    private static final int BATCH = 16;
+    private static final String[] STEPS = {"stepTwo", "stepThree", "coverZeros", "createAdditionalZeros", "optimization"};
+
+    @Param({"stepTwo", "stepThree", "coverZeros", "createAdditionalZeros", "optimization"})
+    public String step;
+
+    @Param({"uniform", "shuffle", "ties", "adversarial"})
+    public String kind;
+
+    @Param({"5", "50", "500", "1000"})
+    public int size;
+
+    @Param("42")
+    public long seed;
+
+    private int[][] matrix;
+    private final Object[] assignments = new Object[BATCH];
+    private int index;
+    private MethodHandle target;
+
+    @Setup
+    public void setUp() throws Throwable {
+        matrix = Instances.generate(kind, size, seed);
+        for (int i = 0; i < BATCH; i++) {
+            assignments[i] = Solvers.assignment(matrix);
+        }
+        index = Arrays.asList(STEPS).indexOf(step);
+        target = new MethodHandle[]{Solvers.STEP_TWO, Solvers.STEP_THREE, Solvers.COVER_ZEROS,
+                Solvers.CREATE_ADDITIONAL_ZEROS, Solvers.OPTIMIZATION}[index];
+    }
+
+    /**
+     * Runs the solve of every instance up to, not including, the measured step.
+     */
+    @Setup(Level.Invocation)
+    public void replay() throws Throwable {
+        Solvers.input(matrix);
+        for (Object assignment : assignments) {
+            replay(assignment);
+        }
+    }
+
+    private void replay(Object assignment) throws Throwable {
+        Solvers.PREPARE.invoke(assignment);
+        if (index > 0)
+            Solvers.STEP_TWO.invoke(assignment);
+        if (index > 1)
+            Solvers.STEP_THREE.invoke(assignment);
+        if (index > 2)
+            Solvers.COVER_ZEROS.invoke(assignment);
+        if (index > 3) {
+            while (Solvers.numLines(assignment) < Solvers.size(assignment)) {
+                Solvers.CREATE_ADDITIONAL_ZEROS.invoke(assignment);
+                Solvers.COVER_ZEROS.invoke(assignment);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object[] step() throws Throwable {
+        for (Object assignment : assignments) {
+            target.invoke(assignment);
+        }
+        return assignments;
+    }
+}
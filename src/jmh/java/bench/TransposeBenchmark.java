@@ -0,0 +1,69 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiled SheetsQuickstart.transposeMatrix against the plain double loop it
+ * replaced, on a size x 2 * size matrix.
+ *
+ * @author Naren Yenuganti
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TransposeBenchmark {
+
+    @Param({"50", "500", "1000", "5000"})
+    public int size;
+
+    @Param("42")
+    public long seed;
+
+    private int[][] matrix;
+
+    @Setup
+    public void setUp() {
+        matrix = Instances.uniform(size, seed, 1000);
+        int[][] wide = new int[size][];
+        for (int row = 0; row < size; row++) {
+            wide[row] = new int[2 * size];
+            System.arraycopy(matrix[row], 0, wide[row], 0, size);
+            System.arraycopy(matrix[row], 0, wide[row], size, size);
+        }
+        matrix = wide;
+    }
+
+    @Benchmark
+    public Object tiled() throws Throwable {
+        return Solvers.TRANSPOSE.invoke(matrix);
+    }
+
+    @Benchmark
+    public Object plain() {
+        int m = matrix.length;
+        int n = matrix[0].length;
+        int[][] transposedMatrix = new int[n][m];
+        for (int x = 0; x < n; x++) {
+            for (int y = 0; y < m; y++) {
+                transposedMatrix[x][y] = matrix[y][x];
+            }
+        }
+        return transposedMatrix;
+    }
+}
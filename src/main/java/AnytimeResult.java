@@ -0,0 +1,74 @@
+/**
+ * Result of a time-limited solve: the best assignment found, its total and
+ * a bound on the optimal total, so the distance from optimal is known.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class AnytimeResult {
+
+    private final int[] assignment;
+    private final long total;
+    private final long bound;
+    private final boolean maximize;
+
+    /**
+     * @param assignment Column per row.
+     * @param total Sum of the assigned cells.
+     * @param bound Upper bound on the optimum when maximizing, lower bound when minimizing.
+     * @param maximize Direction of the solve.
+     */
+    AnytimeResult(int[] assignment, long total, long bound, boolean maximize) {
+        this.assignment = assignment;
+        this.total = total;
+        this.bound = bound;
+        this.maximize = maximize;
+    }
+
+    /**
+     * @return Column per row.
+     */
+    int[] getAssignment() {
+        return assignment;
+    }
+
+    /**
+     * @return Sum of the assigned cells.
+     */
+    long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Bound no assignment can beat.
+     */
+    long getBound() {
+        return bound;
+    }
+
+    /**
+     * @return Distance between total and bound, the most the total can be off by.
+     */
+    long getGap() {
+        return maximize ? bound - total : total - bound;
+    }
+
+    /**
+     * @return Gap relative to the bound, 0 when the total is proven optimal.
+     */
+    double getRelativeGap() {
+        return getGap() / (double) Math.max(1, Math.abs(bound));
+    }
+
+    /**
+     * @return true if the bound proves the total optimal.
+     */
+    boolean isOptimal() {
+        return getGap() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("total %d, bound %d, gap %d (%.2f%%)", total, bound, getGap(), 100 * getRelativeGap());
+    }
+}
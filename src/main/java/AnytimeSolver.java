@@ -0,0 +1,249 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Approximate solver for previews that must answer within a time budget.
+ *
+ * Builds a greedy assignment (rows with the largest regret between their
+ * best and second best column pick first), then improves it by local
+ * search until no move helps or the deadline passes:
+ * - 2-opt: a row takes another column, whose row takes the first row's
+ *   column, or the column is free and nobody has to move.
+ * - 3-opt: a row takes a second row's column, the second row takes a
+ *   third row's (or a free) column, and the third row takes the first
+ *   row's column. Only chains whose running gain stays positive are
+ *   followed, which misses no improving cycle.
+ * The result carries a bound from the row and column reductions of
+ * Munkres' steps one and two, taken in both orders, so the caller sees
+ * how far the answer can be from optimal.
+ *
+ * @author Naren Yenuganti
+ */
+
+class AnytimeSolver {
+
+    private final CostMatrix costs;
+    private final boolean maximize;
+    private final long sign;
+    private final int n;
+    private final int m;
+    private final int[] colOf;
+    private final int[] rowOf;
+    private long deadline;
+
+    /**
+     * @param matrix n x m matrix with n <= m.
+     * @param maximize True to maximize the total instead of minimizing it.
+     */
+    AnytimeSolver(int[][] matrix, boolean maximize) {
+        costs = CostMatrix.of(matrix);
+        this.maximize = maximize;
+        sign = maximize ? -1 : 1;
+        n = costs.rows;
+        m = costs.cols;
+        if (n > m)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        colOf = new int[n];
+        rowOf = new int[m];
+    }
+
+    /**
+     * Cost of a cell as minimized, negated when maximizing.
+     */
+    private long cost(int row, int col) {
+        return sign * costs.data[row * m + col];
+    }
+
+    /**
+     * Solves within a time budget. The greedy start and the bound are
+     * always computed, each in O(n * m); only the local search is cut off.
+     *
+     * @param budgetMillis Time budget in milliseconds.
+     * @return Best assignment found, with its total and bound.
+     */
+    AnytimeResult solve(long budgetMillis) {
+        deadline = System.nanoTime() + budgetMillis * 1000000L;
+        long bound = bound();
+        greedy();
+        boolean improved = true;
+        while (improved && !expired()) {
+            improved = twoOpt() || threeOpt();
+        }
+        long total = 0;
+        for (int row = 0; row < n; row++) {
+            total += costs.data[row * m + colOf[row]];
+        }
+        return new AnytimeResult(colOf.clone(), total, sign * bound, maximize);
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Dual bound from row and column reductions. Columns a solution may
+     * leave empty cannot carry a positive reduction, so column minima are
+     * capped at 0 when there are more columns than rows.
+     *
+     * @return Lower bound on the minimized total.
+     */
+    private long bound() {
+        long cap = n < m ? 0 : Long.MAX_VALUE;
+        long[] u = new long[n];
+        long[] v = new long[m];
+        Arrays.fill(u, Long.MAX_VALUE);
+        Arrays.fill(v, cap);
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < m; col++) {
+                u[row] = Math.min(u[row], cost(row, col));
+            }
+        }
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < m; col++) {
+                v[col] = Math.min(v[col], cost(row, col) - u[row]);
+            }
+        }
+        long rowsFirst = sum(u) + sum(v);
+        Arrays.fill(u, Long.MAX_VALUE);
+        Arrays.fill(v, cap);
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < m; col++) {
+                v[col] = Math.min(v[col], cost(row, col));
+            }
+        }
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < m; col++) {
+                u[row] = Math.min(u[row], cost(row, col) - v[col]);
+            }
+        }
+        long colsFirst = sum(u) + sum(v);
+        return Math.max(rowsFirst, colsFirst);
+    }
+
+    /**
+     * Rows pick their cheapest free column, largest regret first.
+     */
+    private void greedy() {
+        long[] regret = new long[n];
+        for (int row = 0; row < n; row++) {
+            long best = Long.MAX_VALUE;
+            long second = Long.MAX_VALUE;
+            for (int col = 0; col < m; col++) {
+                long c = cost(row, col);
+                if (c < best) {
+                    second = best;
+                    best = c;
+                } else if (c < second) {
+                    second = c;
+                }
+            }
+            regret[row] = second == Long.MAX_VALUE ? 0 : second - best;
+        }
+        Arrays.fill(rowOf, -1);
+        int[] order = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparingLong((Integer row) -> regret[row]).reversed())
+                .mapToInt(Integer::intValue).toArray();
+        for (int row : order) {
+            int pick = -1;
+            for (int col = 0; col < m; col++) {
+                if (rowOf[col] < 0 && (pick < 0 || cost(row, col) < cost(row, pick)))
+                    pick = col;
+            }
+            colOf[row] = pick;
+            rowOf[pick] = row;
+        }
+    }
+
+    /**
+     * One pass of the best swap per row.
+     * @return true if the total improved
+     */
+    private boolean twoOpt() {
+        boolean improved = false;
+        for (int row = 0; row < n && !expired(); row++) {
+            int a = colOf[row];
+            long base = cost(row, a);
+            long bestDelta = 0;
+            int bestCol = -1;
+            for (int b = 0; b < m; b++) {
+                int other = rowOf[b];
+                long delta = cost(row, b) - base + (other >= 0 ? cost(other, a) - cost(other, b) : 0);
+                if (delta < bestDelta) {
+                    bestDelta = delta;
+                    bestCol = b;
+                }
+            }
+            if (bestCol >= 0) {
+                int other = rowOf[bestCol];
+                move(row, bestCol);
+                if (other >= 0)
+                    move(other, a);
+                else
+                    rowOf[a] = -1;
+                improved = true;
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * One pass over rotations of three rows, or two rows and a free column.
+     * @return true if the total improved
+     */
+    private boolean threeOpt() {
+        boolean improved = false;
+        for (int row = 0; row < n && !expired(); row++) {
+            int a = colOf[row];
+            long base = cost(row, a);
+            for (int b = 0; b < m && !expired(); b++) {
+                int second = rowOf[b];
+                long d1 = cost(row, b) - base;
+                if (d1 >= 0 || second < 0)
+                    continue;
+                long secondBase = cost(second, b);
+                long bestDelta = 0;
+                int bestCol = -1;
+                for (int e = 0; e < m; e++) {
+                    if (e == a || e == b)
+                        continue;
+                    long d2 = d1 + cost(second, e) - secondBase;
+                    if (d2 >= 0)
+                        continue;
+                    int third = rowOf[e];
+                    long delta = d2 + (third >= 0 ? cost(third, a) - cost(third, e) : 0);
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        bestCol = e;
+                    }
+                }
+                if (bestCol >= 0) {
+                    int third = rowOf[bestCol];
+                    move(row, b);
+                    move(second, bestCol);
+                    if (third >= 0)
+                        move(third, a);
+                    else
+                        rowOf[a] = -1;
+                    improved = true;
+                    a = colOf[row];
+                    base = cost(row, a);
+                }
+            }
+        }
+        return improved;
+    }
+
+    private void move(int row, int col) {
+        colOf[row] = col;
+        rowOf[col] = row;
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -1,4 +1,6 @@
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Scanner;
 
@@ -14,16 +16,35 @@ import java.util.Scanner;
 
 class Assignment {
 
+    /**
+     * Solver engines of the capacitated run.
+     * CAPACITATED is the min-cost flow CapacitatedSolver, the default and
+     * the only engine that uses the solution cache. The others run through
+     * algorithm() on the roster expanded to one column per division seat,
+     * which is dense, so they are meant for comparing engines on rosters
+     * of a few hundred consultants: MUNKRES is the original cover-lines
+     * method, SHORTEST_PATH is the O(n^3) potentials based
+     * ShortestPathSolver, REDUCED shrinks the instance with ProblemReducer
+     * first and solves the parts in parallel, BOTTLENECK maximizes the
+     * worst assigned points first and the total among the assignments that
+     * reach it.
+     */
+    enum Engine { CAPACITATED, MUNKRES, SHORTEST_PATH, REDUCED, BOTTLENECK }
+
     private static String[] DIVISIONS = {"Corporate", "Marketing", "Startup", "Finance", "Pro Bono"};
     private static int[][] _assignment;
     private static boolean _manual;
+    private static Engine _engine = Engine.MUNKRES;
     private static ArrayList<Object> names = new ArrayList<>();
     private static HashMap<Object, int[]> _namesToPoints;
     private int[][] assignmentCopy;
     private int[] rows;
-    private int[] occupiedCols;
-    private int[][] lines;
+    private int[] coveredRows;
+    private int[] coveredCols;
     private int numLines;
+    private ZeroMatching zeroMatching;
+    private int[] divisions;
+    private long total;
 
     /**
      * Constructor for when the algorithm is run a first time.
@@ -34,34 +55,59 @@ class Assignment {
      */
     Assignment(boolean manual, int[][] assignment, ArrayList<Object> nameList, HashMap<Object, int[]> namesToPoints) {
         _manual = manual;
+        _engine = Engine.MUNKRES;
         _assignment = assignment;
-        names.clear();
         names = nameList;
         _namesToPoints = namesToPoints;
         manual();
     }
 
     /**
-     * Constructor for when the algorithm is run again.
+     * Constructor for a capacitated run. The whole roster is assigned in one
+     * optimization instead of re-running on the unassigned consultants.
+     * @param capacities How many consultants each division takes, in DIVISIONS order.
+     * @param nameList Names of all the consultants.
+     * @param namesToPoints Hashmap of people's names to preference points.
+     */
+    Assignment(int[] capacities, ArrayList<Object> nameList, HashMap<Object, int[]> namesToPoints) throws IOException {
+        this(capacities, Engine.CAPACITATED, null, nameList, namesToPoints);
+    }
+
+    /**
+     * Constructor for a capacitated run with a chosen engine. With the
+     * CAPACITATED engine a roster solved before is answered from the cache
+     * instead of solving it again.
+     * @param capacities How many consultants each division takes, in DIVISIONS order.
+     * @param engine Solver engine to use.
+     * @param cache Solution cache, or null to always solve.
+     * @param nameList Names of all the consultants.
      * @param namesToPoints Hashmap of people's names to preference points.
+     * @throws IOException If the cache's on-disk store cannot be written.
      */
-    Assignment(HashMap<Object, int[]> namesToPoints) {
+    Assignment(int[] capacities, Engine engine, SolutionCache cache, ArrayList<Object> nameList, HashMap<Object, int[]> namesToPoints) throws IOException {
+        if (capacities.length != DIVISIONS.length) {
+            throw new IllegalArgumentException("Expected " + DIVISIONS.length + " capacities, got " + capacities.length);
+        }
         _manual = false;
-        names.clear();
-        names.addAll(namesToPoints.keySet());
+        _engine = engine;
+        names = nameList;
         _namesToPoints = namesToPoints;
-        _assignment = new int[_namesToPoints.keySet().size()][DIVISIONS.length];
-        int counter = 0;
-        for (Object name : _namesToPoints.keySet()) {
-            _assignment[counter][0] = _namesToPoints.get(name)[0];
-            _assignment[counter][1] = _namesToPoints.get(name)[1];
-            _assignment[counter][2] = _namesToPoints.get(name)[2];
-            _assignment[counter][3] = _namesToPoints.get(name)[3];
-            _assignment[counter][4] = _namesToPoints.get(name)[4];
-            counter++;
+        capacitated(capacities, cache);
+    }
+
+    /**
+     * Splits the roster evenly over the divisions, the first
+     * consultants % divisions of them taking one more, so every consultant
+     * gets a division in the capacitated run.
+     * @param consultants Number of consultants.
+     * @return Capacity of each division, in DIVISIONS order.
+     */
+    static int[] evenCapacities(int consultants) {
+        int[] capacities = new int[DIVISIONS.length];
+        for (int i = 0; i < capacities.length; i++) {
+            capacities[i] = consultants / capacities.length + (i < consultants % capacities.length ? 1 : 0);
         }
-        _assignment = SheetsQuickstart.transposeMatrix(_assignment);
-        manual();
+        return capacities;
     }
 
     /**
@@ -95,59 +141,173 @@ class Assignment {
 //            System.out.println("Assignment algorithm beginning.");
         } else {
             algorithm();
+            System.out.println("\nAssignments:");
+            for (int row = 0; row < _assignment.length; row++) {
+                System.out.printf("%s: %s\n", DIVISIONS[row], names.get(rows[row]));
+            }
+            System.out.println("Total Preference Points: " + getTotal());
         }
     }
 
     /**
      * Adjusted Hungarian/Munkres Algorithm for
      * solving the unbalanced maximization assignment problem.
+     * Leaves the column of every row of _assignment in rows; Munkres pads
+     * the matrix to a square, so rows may be longer.
      */
     private void algorithm() {
-        assignmentCopy = new int[_assignment.length][];
-        for (int i = 0; i < assignmentCopy.length; ++i) {
-            assignmentCopy[i] = new int[_assignment[i].length];
-            System.arraycopy(_assignment[i], 0, assignmentCopy[i], 0, assignmentCopy[i].length);
+        if (_engine == Engine.SHORTEST_PATH) {
+            rows = new ShortestPathSolver(_assignment, true).solve();
+        } else if (_engine == Engine.REDUCED) {
+            ProblemReducer reducer = new ProblemReducer(_assignment, true);
+            rows = reducer.solve();
+            System.out.println(reducer.getReport());
+        } else if (_engine == Engine.BOTTLENECK) {
+            BottleneckSolver solver = new BottleneckSolver(_assignment, true, true);
+            rows = solver.solve();
+            System.out.println("Worst assigned points: " + solver.getBottleneck());
+        } else {
+            munkres();
         }
-        stepOne();
-        occupiedCols = new int[assignmentCopy.length];
-        rows = new int[assignmentCopy.length];
+    }
+
+    /**
+     * Assigns every consultant to a division within the capacities in a
+     * single min-cost flow solve, through the cache if there is one, or
+     * with the selected engine on the seat matrix.
+     * Consultants left over when the capacities run out are listed for a
+     * manual check.
+     * @param capacities How many consultants each division takes.
+     * @param cache Solution cache, or null.
+     */
+    private void capacitated(int[] capacities, SolutionCache cache) throws IOException {
+        int[][] points = new int[names.size()][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = _namesToPoints.get(names.get(i));
+        }
+        if (_engine != Engine.CAPACITATED) {
+            seats(points, capacities);
+        } else if (cache == null) {
+            CapacitatedSolver solver = new CapacitatedSolver(points, capacities);
+            divisions = solver.solve();
+            total = solver.getTotal(divisions);
+        } else {
+            AssignmentResult result = cache.solveCapacitated(points, capacities, Arrays.asList(DIVISIONS));
+            divisions = result.getAssignment();
+            total = result.getTotal();
+        }
+        System.out.println("\nAssignments:");
+        for (int i = 0; i < divisions.length; i++) {
+            if (divisions[i] >= 0)
+                System.out.printf("%s: %s\n", DIVISIONS[divisions[i]], names.get(i));
+        }
+        System.out.println("Total Preference Points: " + total);
+        boolean header = false;
+        for (int i = 0; i < divisions.length; i++) {
+            if (divisions[i] < 0) {
+                if (!header) {
+                    System.out.println("\nNo capacity left, manually check these consultants:");
+                    header = true;
+                }
+                System.out.println(names.get(i));
+            }
+        }
+    }
+
+    /**
+     * Expands the roster to one column per division seat, with seats of a
+     * virtual division worth zero for capacity short of the roster, and
+     * solves it with algorithm().
+     */
+    private void seats(int[][] points, int[] capacities) {
+        int n = points.length;
+        int[] seatDivision = new int[Math.max(n, Arrays.stream(capacities).sum())];
+        Arrays.fill(seatDivision, -1);
+        int seat = 0;
+        for (int div = 0; div < capacities.length; div++) {
+            for (int k = 0; k < capacities[div]; k++) {
+                seatDivision[seat++] = div;
+            }
+        }
+        _assignment = new int[n][seatDivision.length];
+        for (int i = 0; i < n; i++) {
+            for (seat = 0; seat < seatDivision.length; seat++) {
+                _assignment[i][seat] = seatDivision[seat] < 0 ? 0 : points[i][seatDivision[seat]];
+            }
+        }
+        algorithm();
+        divisions = new int[n];
+        for (int i = 0; i < n; i++) {
+            divisions[i] = seatDivision[rows[i]];
+        }
+        total = getTotal();
+    }
+
+    /**
+     * @return Division of each consultant of a capacitated run, -1 for none.
+     */
+    int[] getDivisions() {
+        return divisions;
+    }
+
+    /**
+     * @return Total preference points of a capacitated run.
+     */
+    long getTotalPoints() {
+        return total;
+    }
+
+    /**
+     * Original cover-lines Munkres method, leaves the result in rows.
+     */
+    private void munkres() {
+        SolverMetrics metrics = Instrumentation.start("munkres", _assignment.length, _assignment[0].length);
+        long time = metrics == null ? 0 : metrics.start();
+        prepare();
+        if (metrics != null)
+            time = metrics.lap(SolverMetrics.Phase.PREPARE, time);
         stepTwo();
         stepThree();
+        if (metrics != null)
+            time = metrics.lap(SolverMetrics.Phase.REDUCE, time);
         coverZeros();
+        if (metrics != null)
+            time = metrics.lap(SolverMetrics.Phase.COVER, time);
         while (numLines < assignmentCopy.length) {
             createAdditionalZeros();
+            if (metrics != null)
+                time = metrics.lap(SolverMetrics.Phase.ADJUST, time);
             coverZeros();
-        }
-        optimization(0);
-        System.out.println("\nAssignments:");
-        int counter = 0;
-        for (int row : rows) {
-            if (counter < 5) {
-                System.out.printf("%s: %s\n", DIVISIONS[counter], names.get(row));
-                _namesToPoints.remove(names.get(row));
-                counter++;
+            if (metrics != null) {
+                time = metrics.lap(SolverMetrics.Phase.COVER, time);
+                metrics.iterations++;
             }
         }
-        System.out.println("Total Preference Points: " + getTotal());
-        if (!_namesToPoints.isEmpty() && _namesToPoints.keySet().size() > DIVISIONS.length) {
-            Assignment unassigned = new Assignment(_namesToPoints);
-        } else if (!_namesToPoints.isEmpty() && _namesToPoints.size() < DIVISIONS.length) {
-            System.out.println("\nManually check for these consultant pairings:");
-            int max = 0;
-            int index = 0;
-            for (Object name : _namesToPoints.keySet()) {
-                for (int i = 0; i < _namesToPoints.get(name).length; i++) {
-                    if (_namesToPoints.get(name)[i] > max) {
-                        max = _namesToPoints.get(name)[i];
-                        index = i;
-                    }
-                }
-                System.out.printf("%s: %s\n", DIVISIONS[index], name);
-                max = 0;
-            }
+        optimization();
+        if (metrics != null) {
+            metrics.lap(SolverMetrics.Phase.ASSIGN, time);
+            metrics.augmentations = zeroMatching.getAugmentations();
+            metrics.matchingPhases = zeroMatching.getPhases();
+            Instrumentation.finish(metrics);
         }
     }
 
+    /**
+     * Copies the input, runs stepOne and allocates the per-solve arrays.
+     */
+    private void prepare() {
+        assignmentCopy = new int[_assignment.length][];
+        for (int i = 0; i < assignmentCopy.length; ++i) {
+            assignmentCopy[i] = new int[_assignment[i].length];
+            System.arraycopy(_assignment[i], 0, assignmentCopy[i], 0, assignmentCopy[i].length);
+        }
+        stepOne();
+        rows = new int[assignmentCopy.length];
+        coveredRows = new int[assignmentCopy.length];
+        coveredCols = new int[assignmentCopy.length];
+        zeroMatching = new ZeroMatching(assignmentCopy.length);
+    }
+
     /**
      * To maximize the total cost we negate all elements.
      * The cost matrix contains negative elements, we add the max value
@@ -183,151 +343,79 @@ class Assignment {
      * Subtract Row Minima.
      */
     private void stepTwo() {
-        int[] rowMinValue = new int[assignmentCopy.length];
-        for (int row = 0; row < assignmentCopy.length; row++) {
-            rowMinValue[row] = assignmentCopy[row][0];
-            for (int col = 1; col < assignmentCopy.length; col++) {
-                if (assignmentCopy[row][col] < rowMinValue[row])
-                    rowMinValue[row] = assignmentCopy[row][col];
-            }
-        }
-        for (int row = 0; row < assignmentCopy.length; row++) {
-            for (int col = 0; col < assignmentCopy.length; col++) {
-                assignmentCopy[row][col] -= rowMinValue[row];
-            }
+        int n = assignmentCopy.length;
+        for (int[] row : assignmentCopy) {
+            RowKernels.subtract(row, n, RowKernels.min(row, n));
         }
-
     }
 
     /**
      * Subtract Column Minima.
+     * The minima are gathered row by row, so every pass reads one
+     * contiguous row instead of striding down a column.
      */
     private void stepThree() {
-        int[] colMinValue = new int[assignmentCopy.length];
-        for (int col = 0; col < assignmentCopy.length; col++) {
-            colMinValue[col] = assignmentCopy[0][col];
-            for (int row = 1; row < assignmentCopy.length; row++) {
-                if (assignmentCopy[row][col] < colMinValue[col])
-                    colMinValue[col] = assignmentCopy[row][col];
-            }
+        int n = assignmentCopy.length;
+        int[] colMinValue = assignmentCopy[0].clone();
+        for (int row = 1; row < n; row++) {
+            RowKernels.minInto(colMinValue, assignmentCopy[row], n);
         }
-        for (int col = 0; col < assignmentCopy.length; col++) {
-            for (int row = 0; row < assignmentCopy.length; row++) {
-                assignmentCopy[row][col] -= colMinValue[col];
-            }
+        for (int[] row : assignmentCopy) {
+            RowKernels.subtract(row, colMinValue, n);
         }
     }
 
     /**
-     * Step 4.1
-     * Loop through all elements, and run colorNeighbors when the element visited is equal to zero
+     * Step 4
+     * Grow the maximum matching of the zero cells (kept from the last pass)
+     * and cover all zeros with the minimum number of lines by Konig's theorem.
+     * The number of lines equals the size of the matching.
      */
     private void coverZeros() {
-        numLines = 0;
-        lines = new int[assignmentCopy.length][assignmentCopy.length];
-        for (int row = 0; row < assignmentCopy.length; row++) {
-            for (int col = 0; col < assignmentCopy.length; col++) {
-                if (assignmentCopy[row][col] == 0)
-                    colorNeighbors(row, col, maxVH(row, col));
-            }
-        }
-    }
-
-    /**
-     * Step 4.2
-     * Checks which direction (vertical,horizontal) contains more zeros.
-     *
-     * @param row Row index for the target cell
-     * @param col Column index for the target cell
-     * @return Positive integer = vertical, Zero or Negative = horizontal
-     */
-    private int maxVH(int row, int col) {
-        int result = 0;
-        for (int i = 0; i < assignmentCopy.length; i++) {
-            if (assignmentCopy[i][col] == 0)
-                result++;
-            if (assignmentCopy[row][i] == 0)
-                result--;
-        }
-        return result;
-    }
-
-    /**
-     * Step 4.3
-     * Color the neighbors of the cell at index [row][col].
-     *
-     * @param row   Row index for the target cell
-     * @param col   Column index for the target cell
-     * @param maxVH Value return by the maxVH method
-     */
-    private void colorNeighbors(int row, int col, int maxVH) {
-        if (lines[row][col] == 2 || maxVH > 0 && lines[row][col] == 1 || maxVH <= 0 && lines[row][col] == -1) {
-            return;
-        }
-        for (int i = 0; i < assignmentCopy.length; i++) {
-            if (maxVH > 0) {
-                lines[i][col] = lines[i][col] == -1 || lines[i][col] == 2 ? 2 : 1;
-            }
-            else {
-                lines[row][i] = lines[row][i] == 1 || lines[row][i] == 2 ? 2 : -1;
-            }
-        }
-        numLines++;
+        numLines = zeroMatching.grow(assignmentCopy);
+        if (numLines < assignmentCopy.length)
+            zeroMatching.cover(assignmentCopy, coveredRows, coveredCols);
     }
 
     /**
      * Step 5
      * Create additional zeros, by coloring the minimum value of uncovered cells.
+     * Uncovered cells only lie in uncovered rows, where the minimum is
+     * subtracted from the uncovered columns; covered rows get it added to
+     * the covered columns, the cells covered twice.
      */
     private void createAdditionalZeros() {
-        int minUncoveredValue = 0;
-        for (int row = 0; row < assignmentCopy.length; row++) {
-            for (int col = 0; col < assignmentCopy.length; col++) {
-                if (lines[row][col] == 0 && (assignmentCopy[row][col] < minUncoveredValue || minUncoveredValue == 0))
-                    minUncoveredValue = assignmentCopy[row][col];
-            }
+        int n = assignmentCopy.length;
+        int minUncoveredValue = Integer.MAX_VALUE;
+        for (int row = 0; row < n; row++) {
+            if (coveredRows[row] == 0)
+                minUncoveredValue = RowKernels.minUncovered(assignmentCopy[row], coveredCols, n, minUncoveredValue);
         }
-        for (int row = 0; row < assignmentCopy.length; row++) {
-            for (int col = 0; col < assignmentCopy.length; col++) {
-                if (lines[row][col] == 0) {
-                    assignmentCopy[row][col] -= minUncoveredValue;
-                } else if (lines[row][col] == 2) {
-                    assignmentCopy[row][col] += minUncoveredValue;
-                }
-            }
+        for (int row = 0; row < n; row++) {
+            if (coveredRows[row] == 0)
+                RowKernels.subtractUncovered(assignmentCopy[row], coveredCols, n, minUncoveredValue);
+            else
+                RowKernels.addCovered(assignmentCopy[row], coveredCols, n, minUncoveredValue);
         }
     }
 
     /**
      * Step 6
-     * Optimization, assign every row a cell in a unique column.
-     *
-     * @param row row number
-     * @return true
+     * Optimization, assign every row the column of its matched zero cell.
+     * Only called once the zero matching is perfect.
      */
-    private boolean optimization(int row) {
-        if (row == rows.length) {
-            return true;
-        }
-        for (int col = 0; col < assignmentCopy.length; col++) {
-            if (assignmentCopy[row][col] == 0 && occupiedCols[col] == 0) {
-                rows[row] = col;
-                occupiedCols[col] = 1;
-                if (optimization(row + 1)) {
-                    return true;
-                }
-                occupiedCols[col] = 0;
-            }
+    private void optimization() {
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = zeroMatching.colOf(row);
         }
-        return false;
     }
 
     /**
      * Get the sum of the value of the assigned cells for all rows using the original passed matrix.
      * @return Total values
      */
-    private int getTotal() {
-        int total = 0;
+    private long getTotal() {
+        long total = 0;
         for (int row = 0; row < _assignment.length; row++)
             total += _assignment[row][rows[row]];
         return total;
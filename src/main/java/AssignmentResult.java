@@ -0,0 +1,35 @@
+/**
+ * Result of one solve: the column assigned to each row and the total of
+ * the assigned cells in the original matrix.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class AssignmentResult {
+
+    private final int[] assignment;
+    private final long total;
+
+    /**
+     * @param assignment Column per row, -1 for a row left without a column.
+     * @param total Sum of the assigned cells.
+     */
+    AssignmentResult(int[] assignment, long total) {
+        this.assignment = assignment;
+        this.total = total;
+    }
+
+    /**
+     * @return Column per row, -1 for a row left without a column.
+     */
+    int[] getAssignment() {
+        return assignment;
+    }
+
+    /**
+     * @return Sum of the assigned cells.
+     */
+    long getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,565 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Long-running assignment service on the JDK's built-in HTTP server, so a
+ * solve pays neither JVM startup nor a cold JIT.
+ *
+ * POST /solve takes either JSON, {"matrix": [[1, 2], [3, 4]], "maximize": true},
+ * or a MatrixFile body sent as application/octet-stream with an optional
+ * ?maximize=true (or 1), and answers {"assignment": [...], "total": n}.
+ * A "previewMillis" field or query parameter asks for an interactive
+ * preview instead: AnytimeSolver answers within that budget on the
+ * handler thread, bypassing the batch, and the answer also carries the
+ * "bound" and "gap" to the optimum.
+ * GET /stats reports request count, batching and latency percentiles.
+ *
+ * Requests are queued and a dispatcher coalesces whatever arrives within
+ * a short window into one micro-batch for a warmed up BatchSolver pool.
+ * Every HTTP handler thread blocks on its own request, so there are twice
+ * maxBatch of them: a full batch can gather while the last one is solved.
+ * A request not solved within the timeout is answered 503 and dropped
+ * from its batch. Binds to the loopback interface only.
+ *
+ * @author Naren Yenuganti
+ */
+
+class AssignmentServer implements AutoCloseable {
+
+    private static final int MAX_BODY = 64 << 20;
+    private static final int SAMPLES = 8192;
+    private static final long TIMEOUT_SECONDS = 60;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final BatchSolver minimizer;
+    private final BatchSolver maximizer;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private final int maxBatch;
+    private final long windowNanos;
+    private final long[] latencies = new long[SAMPLES];
+    private long requests;
+    private long batches;
+    private long batched;
+    private volatile boolean running = true;
+
+    /**
+     * @param port Port to listen on, 0 for any free port.
+     * @param threads Solver threads.
+     * @param maxBatch Most requests solved in one batch.
+     * @param windowMicros How long the dispatcher waits for a batch to fill.
+     */
+    AssignmentServer(int port, int threads, int maxBatch, long windowMicros) throws IOException {
+        this.maxBatch = maxBatch;
+        windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        minimizer = new BatchSolver(threads, false);
+        maximizer = new BatchSolver(threads, true);
+        warmUp();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        handlers = Executors.newFixedThreadPool(Math.max(4, maxBatch * 2), runnable -> {
+            Thread thread = new Thread(runnable, "assignment-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/solve", this::solve);
+        server.createContext("/stats", this::stats);
+        dispatcher = new Thread(this::dispatch, "assignment-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        server.start();
+    }
+
+    /**
+     * @return Port the server listens on.
+     */
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Runs a few solves on every pool thread so the first requests are
+     * served by compiled code.
+     */
+    private void warmUp() {
+        Random random = new Random(0);
+        List<int[][]> matrices = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            int[][] matrix = new int[40][60];
+            for (int[] row : matrix) {
+                for (int col = 0; col < row.length; col++) {
+                    row[col] = random.nextInt(1000);
+                }
+            }
+            matrices.add(matrix);
+        }
+        for (int round = 0; round < 20; round++) {
+            minimizer.solveAll(matrices);
+            maximizer.solveAll(matrices);
+        }
+    }
+
+    private void solve(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "{\"error\": \"POST a matrix\"}");
+                return;
+            }
+            Request request;
+            try {
+                byte[] body = readBody(exchange.getRequestBody());
+                String type = exchange.getRequestHeaders().getFirst("Content-Type");
+                if (type != null && type.startsWith("application/octet-stream")) {
+                    Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+                    String preview = query.get("previewMillis");
+                    request = new Request(MatrixFile.decode(body), flag(query, "maximize"),
+                            preview == null ? -1 : parseMillis(preview));
+                } else {
+                    request = parse(new String(body, StandardCharsets.UTF_8));
+                }
+                if (request.previewMillis >= 0) {
+                    AnytimeResult preview = new AnytimeSolver(request.matrix, request.maximize)
+                            .solve(request.previewMillis);
+                    send(exchange, 200, "{\"assignment\": " + Arrays.toString(preview.getAssignment())
+                            + ", \"total\": " + preview.getTotal() + ", \"bound\": " + preview.getBound()
+                            + ", \"gap\": " + preview.getGap() + "}");
+                    record(System.nanoTime() - start);
+                    return;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                send(exchange, 400, "{\"error\": " + quote(e.getMessage()) + "}");
+                return;
+            }
+            queue.add(request);
+            // The dispatcher may have exited before the request was queued.
+            if (!running)
+                request.future.completeExceptionally(new IllegalStateException("Server closed"));
+            AssignmentResult result;
+            try {
+                result = request.future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                send(exchange, 503, "{\"error\": \"interrupted\"}");
+                return;
+            } catch (TimeoutException e) {
+                request.future.cancel(false);
+                send(exchange, 503, "{\"error\": \"timed out\"}");
+                return;
+            } catch (ExecutionException e) {
+                send(exchange, 500, "{\"error\": " + quote(String.valueOf(e.getCause())) + "}");
+                return;
+            }
+            send(exchange, 200, "{\"assignment\": " + Arrays.toString(result.getAssignment())
+                    + ", \"total\": " + result.getTotal() + "}");
+            record(System.nanoTime() - start);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        try {
+            long[] sorted;
+            long count;
+            long batchCount;
+            double meanBatch;
+            synchronized (this) {
+                count = requests;
+                batchCount = batches;
+                sorted = Arrays.copyOf(latencies, (int) Math.min(requests, SAMPLES));
+                meanBatch = batches == 0 ? 0 : (double) batched / batches;
+            }
+            Arrays.sort(sorted);
+            send(exchange, 200, String.format(Locale.ROOT, "{\"requests\": %d, \"batches\": %d, \"meanBatch\": %.2f, "
+                            + "\"p50Ms\": %.3f, \"p90Ms\": %.3f, \"p99Ms\": %.3f, \"maxMs\": %.3f}",
+                    count, batchCount, meanBatch, percentile(sorted, 50), percentile(sorted, 90),
+                    percentile(sorted, 99), percentile(sorted, 100)));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Nearest-rank percentile of the recent latencies, in milliseconds.
+     */
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0)
+            return 0;
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    private synchronized void record(long nanos) {
+        latencies[(int) (requests % SAMPLES)] = nanos;
+        requests++;
+    }
+
+    /**
+     * Takes the first waiting request, gathers more until the batch is full
+     * or the window has passed, and solves them together. On the way out
+     * every request still gathered or queued is failed, so no handler waits
+     * for a batch that will not be solved.
+     */
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>();
+        try {
+            while (running) {
+                try {
+                    Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null)
+                        continue;
+                    batch.add(first);
+                    long deadline = System.nanoTime() + windowNanos;
+                    while (batch.size() < maxBatch) {
+                        Request next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null)
+                            break;
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                }
+                synchronized (this) {
+                    batches++;
+                    batched += batch.size();
+                }
+                solveBatch(batch, false, minimizer);
+                solveBatch(batch, true, maximizer);
+                batch.clear();
+            }
+        } finally {
+            running = false;
+            IllegalStateException closed = new IllegalStateException("Server closed");
+            for (Request request : batch) {
+                request.future.completeExceptionally(closed);
+            }
+            for (Request request; (request = queue.poll()) != null; ) {
+                request.future.completeExceptionally(closed);
+            }
+        }
+    }
+
+    private static void solveBatch(List<Request> batch, boolean maximize, BatchSolver solver) {
+        List<Request> part = new ArrayList<>();
+        List<int[][]> matrices = new ArrayList<>();
+        for (Request request : batch) {
+            // Skips requests whose handler timed out.
+            if (request.maximize == maximize && !request.future.isDone()) {
+                part.add(request);
+                matrices.add(request.matrix);
+            }
+        }
+        if (part.isEmpty())
+            return;
+        try {
+            List<AssignmentResult> results = solver.solveAll(matrices).getResults();
+            for (int i = 0; i < part.size(); i++) {
+                part.get(i).future.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            for (Request request : part) {
+                request.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Parses {"matrix": [[...], ...], "maximize": bool, "previewMillis": n}.
+     */
+    static Request parse(String json) {
+        JsonReader reader = new JsonReader(json);
+        int[][] matrix = null;
+        boolean maximize = false;
+        long previewMillis = -1;
+        reader.expect('{');
+        if (!reader.consume('}')) {
+            do {
+                String key = reader.string();
+                reader.expect(':');
+                if (key.equals("matrix")) {
+                    matrix = reader.matrix();
+                } else if (key.equals("maximize")) {
+                    maximize = reader.bool();
+                } else if (key.equals("previewMillis")) {
+                    previewMillis = checkMillis(reader.integer());
+                } else {
+                    throw new IllegalArgumentException("Unknown field " + key);
+                }
+            } while (reader.consume(','));
+            reader.expect('}');
+        }
+        reader.end();
+        if (matrix == null)
+            throw new IllegalArgumentException("Missing matrix");
+        return new Request(matrix, maximize, previewMillis);
+    }
+
+    private static long parseMillis(String text) {
+        try {
+            return checkMillis(Long.parseLong(text));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected milliseconds, got " + quote(text));
+        }
+    }
+
+    private static long checkMillis(long millis) {
+        if (millis < 0)
+            throw new IllegalArgumentException("Negative preview budget " + millis);
+        return millis;
+    }
+
+    /**
+     * Splits a raw URL query into decoded key/value pairs. A key without
+     * '=' maps to the empty string, a repeated key keeps its last value.
+     * @param raw Query as sent, may be null.
+     */
+    static Map<String, String> query(String raw) {
+        Map<String, String> result = new HashMap<>();
+        if (raw == null)
+            return result;
+        for (String pair : raw.split("&")) {
+            if (pair.isEmpty())
+                continue;
+            int split = pair.indexOf('=');
+            try {
+                result.put(URLDecoder.decode(split < 0 ? pair : pair.substring(0, split), "UTF-8"),
+                        split < 0 ? "" : URLDecoder.decode(pair.substring(split + 1), "UTF-8"));
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return false if the key is absent, true for true, 1 or a bare key.
+     * @throws IllegalArgumentException for any other value
+     */
+    static boolean flag(Map<String, String> query, String key) {
+        String value = query.get(key);
+        if (value == null)
+            return false;
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "":
+            case "true":
+            case "1":
+                return true;
+            case "false":
+            case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("Expected a boolean for " + key + ", got " + quote(value));
+        }
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) >= 0) {
+            out.write(chunk, 0, read);
+            if (out.size() > MAX_BODY)
+                throw new IOException("Body larger than " + MAX_BODY + " bytes");
+        }
+        return out.toByteArray();
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String quote(String text) {
+        return "\"" + String.valueOf(text).replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Stops accepting requests, fails the ones not solved yet and shuts the
+     * pools down.
+     */
+    @Override
+    public void close() {
+        running = false;
+        server.stop(0);
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Request request; (request = queue.poll()) != null; ) {
+            request.future.completeExceptionally(new IllegalStateException("Server closed"));
+        }
+        handlers.shutdown();
+        minimizer.close();
+        maximizer.close();
+    }
+
+    /**
+     * Starts the service until the process is killed.
+     * @param args Optional port, solver threads, batch size and window in microseconds
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8090;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxBatch = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        long window = args.length > 3 ? Long.parseLong(args[3]) : 500;
+        AssignmentServer server = new AssignmentServer(port, threads, maxBatch, window);
+        System.out.println("Listening on http://localhost:" + server.getPort() + "/solve");
+    }
+
+    /**
+     * A queued solve and the future its HTTP handler waits on, or a
+     * preview with its time budget.
+     */
+    static final class Request {
+        final int[][] matrix;
+        final boolean maximize;
+        final long previewMillis;
+        final CompletableFuture<AssignmentResult> future = new CompletableFuture<>();
+
+        /**
+         * @param previewMillis Budget of a preview, -1 for an exact solve.
+         */
+        Request(int[][] matrix, boolean maximize, long previewMillis) {
+            for (int[] row : matrix) {
+                if (row.length != matrix[0].length)
+                    throw new IllegalArgumentException("Matrix is not rectangular");
+            }
+            this.matrix = matrix;
+            this.maximize = maximize;
+            this.previewMillis = previewMillis;
+        }
+    }
+
+    /**
+     * Just enough of a JSON reader for the request body.
+     */
+    private static final class JsonReader {
+        private final String text;
+        private int pos;
+
+        JsonReader(String text) {
+            this.text = text;
+        }
+
+        private void skip() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        boolean consume(char c) {
+            skip();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char c) {
+            if (!consume(c))
+                throw new IllegalArgumentException("Expected '" + c + "' at " + pos);
+        }
+
+        void end() {
+            skip();
+            if (pos != text.length())
+                throw new IllegalArgumentException("Trailing data at " + pos);
+        }
+
+        String string() {
+            expect('"');
+            int start = pos;
+            while (pos < text.length() && text.charAt(pos) != '"') {
+                if (text.charAt(pos) == '\\')
+                    throw new IllegalArgumentException("Escapes are not supported at " + pos);
+                pos++;
+            }
+            expect('"');
+            return text.substring(start, pos - 1);
+        }
+
+        boolean bool() {
+            skip();
+            if (text.startsWith("true", pos)) {
+                pos += 4;
+                return true;
+            }
+            if (text.startsWith("false", pos)) {
+                pos += 5;
+                return false;
+            }
+            throw new IllegalArgumentException("Expected a boolean at " + pos);
+        }
+
+        int integer() {
+            skip();
+            int start = pos;
+            if (pos < text.length() && text.charAt(pos) == '-')
+                pos++;
+            while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                pos++;
+            }
+            try {
+                return Integer.parseInt(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected an integer at " + start);
+            }
+        }
+
+        int[][] matrix() {
+            List<int[]> rows = new ArrayList<>();
+            expect('[');
+            if (!consume(']')) {
+                do {
+                    int[] row = new int[16];
+                    int size = 0;
+                    expect('[');
+                    if (!consume(']')) {
+                        do {
+                            if (size == row.length)
+                                row = Arrays.copyOf(row, size * 2);
+                            row[size++] = integer();
+                        } while (consume(','));
+                        expect(']');
+                    }
+                    rows.add(Arrays.copyOf(row, size));
+                } while (consume(','));
+                expect(']');
+            }
+            return rows.toArray(new int[0][]);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.Arrays;
+
+/**
+ * Instance-scoped shortest path solver. Unlike Assignment it keeps no
+ * static state and prints nothing; each solve returns an AssignmentResult.
+ * The flat matrix and workspace are reused between solves, so one solver
+ * per thread makes repeated solves cheap. Not thread-safe itself.
+ *
+ * @author Naren Yenuganti
+ */
+
+class AssignmentSolver {
+
+    private final boolean maximize;
+    private final CostMatrix costs = new CostMatrix(0, 0);
+    private final SolverWorkspace workspace = new SolverWorkspace();
+
+    /**
+     * @param maximize True to maximize the total instead of minimizing it.
+     */
+    AssignmentSolver(boolean maximize) {
+        this.maximize = maximize;
+    }
+
+    /**
+     * Solves one rectangular matrix. With more rows than columns the
+     * transpose is solved and the rows left over get -1.
+     *
+     * @param matrix Rectangular 2d-array
+     * @return Assignment and total
+     */
+    AssignmentResult solve(int[][] matrix) {
+        int rows = matrix.length;
+        int cols = rows == 0 ? 0 : matrix[0].length;
+        int[] assignment = new int[rows];
+        if (rows <= cols) {
+            costs.copyFrom(matrix);
+            int[] solved = ShortestPathSolver.solve(costs, maximize, workspace);
+            System.arraycopy(solved, 0, assignment, 0, rows);
+        } else {
+            costs.reset(cols, rows);
+            for (int row = 0; row < rows; row++) {
+                if (matrix[row].length != cols)
+                    throw new IllegalArgumentException("Row " + row + " has " + matrix[row].length + " columns, expected " + cols);
+                for (int col = 0; col < cols; col++) {
+                    costs.data[col * rows + row] = matrix[row][col];
+                }
+            }
+            int[] solved = ShortestPathSolver.solve(costs, maximize, workspace);
+            Arrays.fill(assignment, -1);
+            for (int col = 0; col < cols; col++) {
+                assignment[solved[col]] = col;
+            }
+        }
+        long total = 0;
+        for (int row = 0; row < rows; row++) {
+            if (assignment[row] >= 0)
+                total += matrix[row][assignment[row]];
+        }
+        return new AssignmentResult(assignment, total);
+    }
+}
@@ -0,0 +1,313 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Bertsekas' auction algorithm with epsilon-scaling for large assignment
+ * instances. Rows bid for columns; in every round all unassigned rows
+ * compute their bids in parallel (Jacobi bidding) on the given executor,
+ * then each column goes to its highest bidder.
+ *
+ * Benefits are multiplied by (n + 1) and the last phase runs with
+ * epsilon = 1, so for integer costs the result is exactly optimal and its
+ * total matches ShortestPathSolver and Assignment.getTotal().
+ * Rectangular matrices are padded with zero rows to a square.
+ * All state is per instance, so separate solvers can run concurrently.
+ *
+ * @author Naren Yenuganti
+ */
+
+class AuctionSolver {
+
+    private static final int SCALING_FACTOR = 6;
+    private static final int MIN_PARALLEL_WORK = 1 << 15;
+    private final CostMatrix costs;
+    private final boolean maximize;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int n;
+    private final int size;
+    private final long scale;
+    private final long[] price;
+    private final int[] owner;
+    private final int[] assigned;
+    private final int[] bidObject;
+    private final long[] bidAmount;
+    private final int[] bestBidder;
+    private final int[] queue;
+    private final int[] touched;
+    private final List<Callable<Void>> tasks = new ArrayList<>();
+    private int queueSize;
+    private long epsilon;
+    private int rounds;
+
+    /**
+     * Runs on the common ForkJoinPool with all of its threads.
+     * @param matrix n x m matrix with n <= m.
+     * @param maximize True to maximize the total instead of minimizing it.
+     */
+    AuctionSolver(int[][] matrix, boolean maximize) {
+        this(matrix, maximize, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * @param matrix n x m matrix with n <= m, every row of the same length.
+     * @param maximize True to maximize the total instead of minimizing it.
+     * @param executor Executor the bidding runs on.
+     * @param parallelism Number of bidding tasks per round, 1 bids on the calling thread.
+     */
+    AuctionSolver(int[][] matrix, boolean maximize, ExecutorService executor, int parallelism) {
+        n = matrix.length;
+        int m = n == 0 ? 0 : matrix[0].length;
+        if (n > m)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        size = m;
+        costs = new CostMatrix(size, size);
+        for (int row = 0; row < n; row++) {
+            if (matrix[row].length != size)
+                throw new IllegalArgumentException("Row " + row + " has " + matrix[row].length + " columns, expected " + size);
+            System.arraycopy(matrix[row], 0, costs.data, row * size, size);
+        }
+        this.maximize = maximize;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+        scale = size + 1L;
+        price = new long[size];
+        owner = new int[size];
+        assigned = new int[size];
+        bidObject = new int[size];
+        bidAmount = new long[size];
+        bestBidder = new int[size];
+        queue = new int[size];
+        touched = new int[size];
+        for (int task = 0; task < this.parallelism; task++) {
+            final int part = task;
+            tasks.add(() -> {
+                int from = (int) ((long) queueSize * part / this.parallelism);
+                int to = (int) ((long) queueSize * (part + 1) / this.parallelism);
+                bid(from, to);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Scaled benefit of a cell, what the bidders maximize.
+     */
+    private long benefit(int row, int col) {
+        long value = costs.data[row * size + col];
+        return (maximize ? value : -value) * scale;
+    }
+
+    /**
+     * Solves the problem.
+     *
+     * @return Column assigned to each row.
+     */
+    int[] solve() {
+        SolverMetrics metrics = Instrumentation.start("auction", n, size);
+        long time = metrics == null ? 0 : metrics.start();
+        long max = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                max = Math.max(max, Math.abs(benefit(row, col)));
+            }
+        }
+        Arrays.fill(price, 0);
+        Arrays.fill(bestBidder, -1);
+        rounds = 0;
+        epsilon = Math.max(1, max / SCALING_FACTOR);
+        if (metrics != null)
+            time = metrics.lap(SolverMetrics.Phase.PREPARE, time);
+        while (true) {
+            phase();
+            if (epsilon == 1)
+                break;
+            epsilon = Math.max(1, epsilon / SCALING_FACTOR);
+        }
+        if (metrics != null) {
+            metrics.lap(SolverMetrics.Phase.AUGMENT, time);
+            metrics.iterations = rounds;
+            Instrumentation.finish(metrics);
+        }
+        return Arrays.copyOf(assigned, n);
+    }
+
+    /**
+     * One epsilon phase: starts from an empty assignment with the prices of
+     * the last phase and auctions until every row has a column.
+     */
+    private void phase() {
+        Arrays.fill(owner, -1);
+        Arrays.fill(assigned, -1);
+        queueSize = size;
+        for (int row = 0; row < size; row++) {
+            queue[row] = row;
+        }
+        while (queueSize > 0) {
+            rounds++;
+            if (parallelism == 1 || (long) queueSize * size < MIN_PARALLEL_WORK) {
+                bid(0, queueSize);
+            } else {
+                try {
+                    for (Future<Void> future : executor.invokeAll(tasks)) {
+                        future.get();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Auction interrupted", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Bidding failed", e.getCause());
+                }
+            }
+            award();
+        }
+    }
+
+    /**
+     * Computes the bids of the queued rows in [from, to). Only reads prices.
+     */
+    private void bid(int from, int to) {
+        for (int k = from; k < to; k++) {
+            int row = queue[k];
+            long best = Long.MIN_VALUE;
+            long second = Long.MIN_VALUE;
+            int bestCol = -1;
+            int base = row * size;
+            long sign = maximize ? scale : -scale;
+            for (int col = 0; col < size; col++) {
+                long value = costs.data[base + col] * sign - price[col];
+                if (value > best) {
+                    second = best;
+                    best = value;
+                    bestCol = col;
+                } else if (value > second) {
+                    second = value;
+                }
+            }
+            bidObject[row] = bestCol;
+            bidAmount[row] = price[bestCol] + (second == Long.MIN_VALUE ? 0 : best - second) + epsilon;
+        }
+    }
+
+    /**
+     * Gives each column to its highest bidder (lowest row on ties) and puts
+     * the rows that were outbid back in the queue.
+     */
+    private void award() {
+        int touchedSize = 0;
+        for (int k = 0; k < queueSize; k++) {
+            int row = queue[k];
+            int col = bidObject[row];
+            int current = bestBidder[col];
+            if (current < 0) {
+                touched[touchedSize++] = col;
+                bestBidder[col] = row;
+            } else if (bidAmount[row] > bidAmount[current] || bidAmount[row] == bidAmount[current] && row < current) {
+                bestBidder[col] = row;
+            }
+        }
+        int losers = 0;
+        for (int k = 0; k < queueSize; k++) {
+            int row = queue[k];
+            if (bestBidder[bidObject[row]] != row)
+                queue[losers++] = row;
+        }
+        for (int k = 0; k < touchedSize; k++) {
+            int col = touched[k];
+            int row = bestBidder[col];
+            bestBidder[col] = -1;
+            if (owner[col] >= 0) {
+                assigned[owner[col]] = -1;
+                queue[losers++] = owner[col];
+            }
+            owner[col] = row;
+            assigned[row] = col;
+            price[col] = bidAmount[row];
+        }
+        queueSize = losers;
+    }
+
+    /**
+     * @return Number of bidding rounds over all phases of the last solve.
+     */
+    int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Checks the final prices against the primal total: with epsilon = 1
+     * the dual bound sum(price) + sum(max profit) may exceed the scaled
+     * primal total by at most n, less than one unscaled point.
+     * @param result Assignment returned by solve()
+     * @return true if the prices prove the assignment optimal
+     */
+    boolean verify(int[] result) {
+        long primal = 0;
+        for (int row = 0; row < size; row++) {
+            primal += benefit(row, assigned[row]);
+        }
+        long dual = 0;
+        for (int col = 0; col < size; col++) {
+            dual += price[col];
+        }
+        for (int row = 0; row < size; row++) {
+            long best = Long.MIN_VALUE;
+            for (int col = 0; col < size; col++) {
+                best = Math.max(best, benefit(row, col) - price[col]);
+            }
+            dual += best;
+        }
+        return dual - primal < scale && Arrays.equals(result, Arrays.copyOf(assigned, n));
+    }
+
+    /**
+     * Times the auction on 1, 4 and all cores against the sequential
+     * ShortestPathSolver on a random square instance and checks the totals.
+     * @param args Optional matrix size and seed
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        Random random = new Random(seed);
+        int[][] matrix = new int[size][size];
+        for (int[] row : matrix) {
+            for (int col = 0; col < size; col++) {
+                row[col] = random.nextInt(1000);
+            }
+        }
+        long start = System.nanoTime();
+        int[] rows = new ShortestPathSolver(matrix, true).solve();
+        long sequential = System.nanoTime() - start;
+        long expected = 0;
+        for (int row = 0; row < size; row++) {
+            expected += matrix[row][rows[row]];
+        }
+        System.out.printf("Sequential shortest path: %d ms, total %d\n", sequential / 1000000, expected);
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads : new int[]{1, 4, cores}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                AuctionSolver solver = new AuctionSolver(matrix, true, pool, threads);
+                start = System.nanoTime();
+                int[] result = solver.solve();
+                long elapsed = System.nanoTime() - start;
+                long total = 0;
+                for (int row = 0; row < size; row++) {
+                    total += matrix[row][result[row]];
+                }
+                System.out.printf("Auction on %d threads: %d ms, speedup %.2f, total %d, %s\n",
+                        threads, elapsed / 1000000, (double) sequential / elapsed, total,
+                        total == expected && solver.verify(result) ? "optimal" : "MISMATCH");
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Paths;
+
+/**
+ * Worker process of DistributedAuction. Owns a horizontal shard of the
+ * rows of a MatrixFile, mapped from disk so the instance never has to fit
+ * on one heap, and computes the bids of its rows for the coordinator.
+ *
+ * The worker keeps its own copy of the column prices. Every bidding round
+ * the coordinator sends the prices changed since the last round and the
+ * shard's rows that are unassigned, and the worker answers with the
+ * column and amount each of them bids, exactly as AuctionSolver.bid does.
+ * Rows past the end of the file are the zero rows that pad a rectangular
+ * matrix to a square.
+ *
+ * Messages, coordinator to worker, all big-endian:
+ * LOAD file maximize size from to, answered by an ok flag and the largest
+ * absolute cost of the shard or an error message;
+ * BID epsilon changes (col price)* count row*, answered by (col amount)*;
+ * TOTAL count col*, the assignment of the shard's real rows, answered by
+ * their sum of costs;
+ * STOP, after which the worker exits.
+ *
+ * @author Naren Yenuganti
+ */
+
+class AuctionWorker {
+
+    static final int MAGIC = 0x48414D57;
+    static final byte LOAD = 1;
+    static final byte BID = 2;
+    static final byte TOTAL = 3;
+    static final byte STOP = 4;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private MappedCostMatrix costs;
+    private long sign;
+    private int from;
+    private int to;
+    private long[] price;
+    private long[] line;
+    private int[] rows = new int[0];
+
+    AuctionWorker(Socket socket) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Serves the coordinator until it sends STOP or disconnects.
+     */
+    void serve() throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException("Not a DistributedAuction coordinator");
+        while (true) {
+            byte op = in.readByte();
+            if (op == LOAD) {
+                load();
+            } else if (op == BID) {
+                bid();
+            } else if (op == TOTAL) {
+                total();
+            } else if (op == STOP) {
+                return;
+            } else {
+                throw new IOException("Unknown message " + op);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Maps the shard and reports its largest absolute cost, from which the
+     * coordinator picks the first epsilon.
+     */
+    private void load() throws IOException {
+        String file = in.readUTF();
+        boolean maximize = in.readBoolean();
+        int size = in.readInt();
+        from = in.readInt();
+        to = in.readInt();
+        try {
+            costs = MatrixFile.map(Paths.get(file));
+            if (costs.cols != size)
+                throw new IOException(file + " has " + costs.cols + " columns, expected " + size);
+        } catch (IOException e) {
+            costs = null;
+            out.writeBoolean(false);
+            out.writeUTF(String.valueOf(e.getMessage()));
+            return;
+        }
+        sign = maximize ? size + 1L : -(size + 1L);
+        price = new long[size];
+        line = new long[size];
+        long max = 0;
+        for (int row = from; row < Math.min(to, costs.rows); row++) {
+            costs.readRow(row, line);
+            for (int col = 0; col < size; col++) {
+                max = Math.max(max, Math.abs(line[col]));
+            }
+        }
+        out.writeBoolean(true);
+        out.writeLong(max);
+    }
+
+    private void bid() throws IOException {
+        long epsilon = in.readLong();
+        int changes = in.readInt();
+        for (int k = 0; k < changes; k++) {
+            int col = in.readInt();
+            price[col] = in.readLong();
+        }
+        int count = in.readInt();
+        // Read the whole request before answering, so neither side blocks
+        // writing while the other is not reading.
+        if (rows.length < count)
+            rows = new int[Math.max(count, rows.length * 2)];
+        for (int k = 0; k < count; k++) {
+            rows[k] = in.readInt();
+            if (rows[k] < from || rows[k] >= to)
+                throw new IOException("Row " + rows[k] + " is outside the shard [" + from + ", " + to + ")");
+        }
+        for (int k = 0; k < count; k++) {
+            int row = rows[k];
+            long best = Long.MIN_VALUE;
+            long second = Long.MIN_VALUE;
+            int bestCol = -1;
+            if (row < costs.rows) {
+                costs.readRow(row, line);
+                for (int col = 0; col < line.length; col++) {
+                    long value = line[col] * sign - price[col];
+                    if (value > best) {
+                        second = best;
+                        best = value;
+                        bestCol = col;
+                    } else if (value > second) {
+                        second = value;
+                    }
+                }
+            } else {
+                for (int col = 0; col < price.length; col++) {
+                    long value = -price[col];
+                    if (value > best) {
+                        second = best;
+                        best = value;
+                        bestCol = col;
+                    } else if (value > second) {
+                        second = value;
+                    }
+                }
+            }
+            out.writeInt(bestCol);
+            out.writeLong(price[bestCol] + (second == Long.MIN_VALUE ? 0 : best - second) + epsilon);
+        }
+    }
+
+    private void total() throws IOException {
+        int count = in.readInt();
+        long total = 0;
+        for (int k = 0; k < count; k++) {
+            total += costs.get(from + k, in.readInt());
+        }
+        out.writeLong(total);
+    }
+
+    /**
+     * Connects to a coordinator and serves it.
+     * @param args Coordinator port, optionally followed by its host
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: AuctionWorker <port> [host]");
+            return;
+        }
+        InetAddress host = args.length > 1 ? InetAddress.getByName(args[1]) : InetAddress.getLoopbackAddress();
+        try (Socket socket = new Socket(host, Integer.parseInt(args[0]))) {
+            socket.setTcpNoDelay(true);
+            new AuctionWorker(socket).serve();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+import java.util.List;
+
+/**
+ * Results of a batch solve in input order, with throughput statistics.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class BatchResult {
+
+    private final List<AssignmentResult> results;
+    private final long elapsedNanos;
+    private final long cells;
+
+    /**
+     * @param results One result per input matrix, in input order.
+     * @param elapsedNanos Wall time of the whole batch.
+     * @param cells Number of matrix cells solved.
+     */
+    BatchResult(List<AssignmentResult> results, long elapsedNanos, long cells) {
+        this.results = results;
+        this.elapsedNanos = elapsedNanos;
+        this.cells = cells;
+    }
+
+    List<AssignmentResult> getResults() {
+        return results;
+    }
+
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    long getCells() {
+        return cells;
+    }
+
+    /**
+     * @return Solved instances per second.
+     */
+    double getInstancesPerSecond() {
+        return elapsedNanos == 0 ? 0 : results.size() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return Solved matrix cells per second.
+     */
+    double getCellsPerSecond() {
+        return elapsedNanos == 0 ? 0 : cells * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d instances in %.1f ms (%.0f instances/s, %.0f cells/s)",
+                results.size(), elapsedNanos / 1e6, getInstancesPerSecond(), getCellsPerSecond());
+    }
+}
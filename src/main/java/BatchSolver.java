@@ -0,0 +1,87 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Solves many independent assignment matrices at once on a bounded thread
+ * pool. Every pool thread keeps its own AssignmentSolver, so the flat
+ * matrix and workspace are reused across the instances it picks up.
+ * Results come back in input order. Safe to call from several threads.
+ *
+ * @author Naren Yenuganti
+ */
+
+class BatchSolver implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final ThreadLocal<AssignmentSolver> solvers;
+
+    /**
+     * @param threads Number of pool threads.
+     * @param maximize True to maximize the totals instead of minimizing them.
+     */
+    BatchSolver(int threads, boolean maximize) {
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        solvers = ThreadLocal.withInitial(() -> new AssignmentSolver(maximize));
+    }
+
+    /**
+     * @param matrices Matrices to solve.
+     * @return One result per matrix in input order, with statistics.
+     */
+    BatchResult solveAll(Collection<int[][]> matrices) {
+        return solveAll(matrices.iterator());
+    }
+
+    /**
+     * @param matrices Matrices to solve, consumed once.
+     * @return One result per matrix in input order, with statistics.
+     */
+    BatchResult solveAll(Stream<int[][]> matrices) {
+        return solveAll(matrices.iterator());
+    }
+
+    private BatchResult solveAll(Iterator<int[][]> matrices) {
+        long start = System.nanoTime();
+        List<Future<AssignmentResult>> futures = new ArrayList<>();
+        long cells = 0;
+        while (matrices.hasNext()) {
+            int[][] matrix = matrices.next();
+            cells += (long) matrix.length * (matrix.length == 0 ? 0 : matrix[0].length);
+            futures.add(executor.submit(() -> solvers.get().solve(matrix)));
+        }
+        List<AssignmentResult> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<AssignmentResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            for (Future<AssignmentResult> future : futures) {
+                future.cancel(true);
+            }
+            throw new IllegalStateException("Batch solve failed", e.getCause());
+        }
+        return new BatchResult(results, System.nanoTime() - start, cells);
+    }
+
+    /**
+     * Shuts the pool down.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,275 @@
+import java.util.Arrays;
+
+/**
+ * Bottleneck assignment: maximizes the worst assigned cell instead of the
+ * total (or, when minimizing, minimizes the largest one), so the committee
+ * can put the worst-off consultant first.
+ *
+ * Binary searches over the distinct cell values. A threshold is feasible
+ * if the "acceptable" cells, those at least as good as it, contain a
+ * matching that covers every row. Acceptable cells are kept as a bit
+ * packed adjacency, one run of long words per row, and the matching is
+ * grown by breadth first searches that scan 64 columns per word.
+ * The matching carries over from one threshold to the next: going
+ * tighter only the matched cells that stopped being acceptable are
+ * dropped, going looser every matched cell stays acceptable. The search
+ * stops at the first row that cannot be matched, as no perfect matching
+ * exists then.
+ *
+ * Optionally the ties are broken by the best total among the assignments
+ * that reach the bottleneck, solved with SparseSolver on the acceptable
+ * cells.
+ *
+ * @author Naren Yenuganti
+ */
+
+class BottleneckSolver {
+
+    private final CostMatrix costs;
+    private final boolean maximize;
+    private final boolean tieBreak;
+    private final long sign;
+    private final int n;
+    private final int m;
+    private final int words;
+    private final long[] adjacency;
+    private final long[] unvisited;
+    private final int[] matchRow;
+    private final int[] matchCol;
+    private final int[] parent;
+    private final int[] queue;
+    private int bottleneck;
+    private int thresholds;
+
+    /**
+     * @param matrix n x m matrix with n <= m.
+     * @param maximize True to maximize the worst assigned cell, false to
+     *                 minimize the largest one.
+     * @param tieBreak True to pick the best total among the assignments
+     *                 with the optimal bottleneck.
+     */
+    BottleneckSolver(int[][] matrix, boolean maximize, boolean tieBreak) {
+        costs = CostMatrix.of(matrix);
+        this.maximize = maximize;
+        this.tieBreak = tieBreak;
+        sign = maximize ? 1 : -1;
+        n = costs.rows;
+        m = costs.cols;
+        if (n > m)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        words = (m + 63) >>> 6;
+        adjacency = new long[n * words];
+        unvisited = new long[words];
+        matchRow = new int[n];
+        matchCol = new int[m];
+        parent = new int[m];
+        queue = new int[n];
+    }
+
+    /**
+     * Solves the problem.
+     *
+     * @return Column assigned to each row.
+     */
+    int[] solve() {
+        thresholds = 0;
+        Arrays.fill(matchRow, -1);
+        Arrays.fill(matchCol, -1);
+        if (n == 0)
+            return new int[0];
+        // Thresholds are keys, the values negated when minimizing, so a
+        // cell is acceptable if its key is at least the threshold. No
+        // threshold above the worst row's best key can be feasible.
+        long limit = Long.MAX_VALUE;
+        long low = Long.MAX_VALUE;
+        for (int row = 0; row < n; row++) {
+            long best = Long.MIN_VALUE;
+            for (int col = 0; col < m; col++) {
+                long key = sign * costs.data[row * m + col];
+                best = Math.max(best, key);
+                low = Math.min(low, key);
+            }
+            limit = Math.min(limit, best);
+        }
+        long threshold = limit - low < 8L * n * m ? searchKeys(distinctKeys(low, limit)) : searchRange(low, limit);
+        feasible(threshold);
+        bottleneck = (int) (sign * threshold);
+        if (!tieBreak)
+            return matchRow.clone();
+        SparseCostMatrix.Builder builder = new SparseCostMatrix.Builder(n, m);
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < m; col++) {
+                if (sign * costs.data[row * m + col] >= threshold)
+                    builder.add(row, col, costs.data[row * m + col]);
+            }
+        }
+        return new SparseSolver(builder.build(), maximize).solve();
+    }
+
+    /**
+     * Binary search over the distinct keys.
+     * @return Largest feasible threshold
+     */
+    private long searchKeys(long[] keys) {
+        int lo = 0;
+        int hi = keys.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (feasible(keys[mid]))
+                lo = mid;
+            else
+                hi = mid - 1;
+        }
+        return keys[lo];
+    }
+
+    /**
+     * Binary search over the whole key range, for keys too spread out to
+     * collect cheaply. A feasible step moves up to the worst matched key,
+     * so the search ends on a cell's key.
+     * @return Largest feasible threshold
+     */
+    private long searchRange(long lo, long hi) {
+        while (lo < hi) {
+            long mid = lo + (hi - lo + 1) / 2;
+            if (feasible(mid)) {
+                lo = Long.MAX_VALUE;
+                for (int row = 0; row < n; row++) {
+                    lo = Math.min(lo, sign * costs.data[row * m + matchRow[row]]);
+                }
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Distinct keys from low to limit in ascending order, the loosest
+     * threshold first, collected in a bit set over the key range.
+     */
+    private long[] distinctKeys(long low, long limit) {
+        long range = limit - low + 1;
+        long[] present = new long[(int) ((range + 63) >>> 6)];
+        for (int i = 0; i < n * m; i++) {
+            long key = sign * costs.data[i] - low;
+            if (key < range)
+                present[(int) (key >>> 6)] |= 1L << key;
+        }
+        int distinct = 0;
+        for (long bits : present) {
+            distinct += Long.bitCount(bits);
+        }
+        long[] keys = new long[distinct];
+        distinct = 0;
+        for (int w = 0; w < present.length; w++) {
+            for (long bits = present[w]; bits != 0; bits &= bits - 1) {
+                keys[distinct++] = low + ((long) w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Packs the acceptable cells, keeps the matched ones that still are and
+     * augments every free row.
+     *
+     * @param threshold Worst acceptable key
+     * @return true if every row is matched
+     */
+    private boolean feasible(long threshold) {
+        thresholds++;
+        for (int row = 0; row < n; row++) {
+            int base = row * m;
+            int word = row * words;
+            for (int w = 0; w < words; w++) {
+                int end = Math.min(m, (w + 1) << 6);
+                long bits = 0;
+                for (int col = w << 6; col < end; col++) {
+                    // The sign bit of threshold - 1 - key is set when key >= threshold.
+                    bits |= ((threshold - 1 - sign * costs.data[base + col]) >>> 63) << col;
+                }
+                adjacency[word + w] = bits;
+            }
+            int col = matchRow[row];
+            if (col >= 0 && (adjacency[word + (col >>> 6)] & 1L << col) == 0) {
+                matchRow[row] = -1;
+                matchCol[col] = -1;
+            }
+        }
+        for (int row = 0; row < n; row++) {
+            if (matchRow[row] < 0 && !augment(row))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Breadth first search for an augmenting path from a free row. The
+     * columns not reached yet are a bit set, so one and of a word finds up
+     * to 64 new columns of a row.
+     *
+     * @param root Free row
+     * @return true if the matching was augmented
+     */
+    private boolean augment(int root) {
+        Arrays.fill(unvisited, -1L);
+        if ((m & 63) != 0)
+            unvisited[words - 1] = (1L << m) - 1;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        while (head < tail) {
+            int row = queue[head++];
+            int word = row * words;
+            for (int w = 0; w < words; w++) {
+                long bits = adjacency[word + w] & unvisited[w];
+                unvisited[w] &= ~bits;
+                while (bits != 0) {
+                    int col = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    parent[col] = row;
+                    int matched = matchCol[col];
+                    if (matched < 0) {
+                        while (col >= 0) {
+                            int owner = parent[col];
+                            int previous = matchRow[owner];
+                            matchRow[owner] = col;
+                            matchCol[col] = owner;
+                            col = previous;
+                        }
+                        return true;
+                    }
+                    queue[tail++] = matched;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Worst assigned cell of the last solve, the largest one when minimizing.
+     */
+    int getBottleneck() {
+        return bottleneck;
+    }
+
+    /**
+     * @return Thresholds tested by the last solve.
+     */
+    int getThresholds() {
+        return thresholds;
+    }
+
+    /**
+     * @param assignment Column per row
+     * @return Sum of the assigned cells
+     */
+    long getTotal(int[] assignment) {
+        long total = 0;
+        for (int row = 0; row < n; row++) {
+            total += costs.get(row, assignment[row]);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,189 @@
+import java.util.Arrays;
+
+/**
+ * Capacitated maximization assignment: every consultant goes to one
+ * division and each division takes at most its capacity, solved as a
+ * single min-cost flow (transportation problem) instead of repeated
+ * square Hungarian runs.
+ *
+ * Consultants are added one at a time along a shortest augmenting path.
+ * The residual graph is compressed onto the divisions: moving consultant j
+ * from division a to b costs cost(j, b) - cost(j, a), and for every pair
+ * (a, b) a heap keeps the cheapest such move. With division potentials
+ * Dijkstra runs on k nodes, so each consultant costs O(k^2 log n) and the
+ * whole roster O(n * k^2 log n) for n consultants and k divisions.
+ * If the capacities add up to fewer than n, a virtual division of
+ * zero points takes the rest and those consultants come back as -1.
+ *
+ * @author Naren Yenuganti
+ */
+
+class CapacitatedSolver {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+    private final int[][] points;
+    private final int n;
+    private final int divisions;
+    private final int k;
+    private final int[] capacity;
+    private final int[] load;
+    private final int[] division;
+    private final long[] potential;
+    private final long[] dist;
+    private final int[] prev;
+    private final int[] via;
+    private final boolean[] done;
+    private final LongHeap[] moves;
+
+    /**
+     * @param points Preference points, one row per consultant and one column per division.
+     * @param capacities Maximum number of consultants for each division.
+     */
+    CapacitatedSolver(int[][] points, int[] capacities) {
+        this.points = points;
+        n = points.length;
+        divisions = capacities.length;
+        long total = 0;
+        for (int row = 0; row < n; row++) {
+            if (points[row].length != divisions)
+                throw new IllegalArgumentException("Row " + row + " has " + points[row].length + " divisions, expected " + divisions);
+        }
+        for (int cap : capacities) {
+            if (cap < 0)
+                throw new IllegalArgumentException("Negative capacity: " + cap);
+            total += cap;
+        }
+        k = total < n ? divisions + 1 : divisions;
+        capacity = Arrays.copyOf(capacities, k);
+        if (k > divisions)
+            capacity[divisions] = (int) (n - total);
+        load = new int[k];
+        division = new int[n];
+        potential = new long[k];
+        dist = new long[k];
+        prev = new int[k];
+        via = new int[k];
+        done = new boolean[k];
+        moves = new LongHeap[k * k];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = new LongHeap();
+        }
+    }
+
+    /**
+     * Cost to minimize, the virtual division is worth zero points.
+     */
+    private long cost(int consultant, int div) {
+        return div < divisions ? -(long) points[consultant][div] : 0;
+    }
+
+    /**
+     * Solves the problem.
+     *
+     * @return Division assigned to each consultant, or -1 if no capacity was left.
+     */
+    int[] solve() {
+        Arrays.fill(division, -1);
+        for (int consultant = 0; consultant < n; consultant++) {
+            augment(consultant);
+        }
+        int[] result = new int[n];
+        for (int consultant = 0; consultant < n; consultant++) {
+            result[consultant] = division[consultant] < divisions ? division[consultant] : -1;
+        }
+        return result;
+    }
+
+    /**
+     * Places one consultant along the shortest path to a division with room,
+     * shifting the consultants on the path one division further.
+     *
+     * @param consultant Consultant to place
+     */
+    private void augment(int consultant) {
+        for (int div = 0; div < k; div++) {
+            dist[div] = cost(consultant, div) - potential[div];
+            prev[div] = -1;
+            done[div] = false;
+        }
+        int target = -1;
+        for (int step = 0; step < k; step++) {
+            int a = -1;
+            for (int div = 0; div < k; div++) {
+                if (!done[div] && (a < 0 || dist[div] < dist[a]))
+                    a = div;
+            }
+            done[a] = true;
+            if (load[a] < capacity[a]) {
+                target = a;
+                break;
+            }
+            for (int b = 0; b < k; b++) {
+                if (done[b])
+                    continue;
+                LongHeap heap = cheapestMove(a, b);
+                if (heap == null)
+                    continue;
+                long next = dist[a] + heap.topKey() + potential[a] - potential[b];
+                if (next < dist[b]) {
+                    dist[b] = next;
+                    prev[b] = a;
+                    via[b] = heap.topValue();
+                }
+            }
+        }
+        long reach = dist[target];
+        for (int div = 0; div < k; div++) {
+            potential[div] += Math.min(dist[div], reach);
+        }
+        load[target]++;
+        int b = target;
+        while (prev[b] >= 0) {
+            int moved = via[b];
+            division[moved] = b;
+            addMoves(moved, b);
+            b = prev[b];
+        }
+        division[consultant] = b;
+        addMoves(consultant, b);
+    }
+
+    /**
+     * Heap of moves from division a to b with stale entries removed from its top.
+     *
+     * @return The heap, or null if no consultant in a can move to b
+     */
+    private LongHeap cheapestMove(int a, int b) {
+        LongHeap heap = moves[a * k + b];
+        while (!heap.isEmpty() && division[heap.topValue()] != a) {
+            heap.pop();
+        }
+        return heap.isEmpty() ? null : heap;
+    }
+
+    /**
+     * Records the moves out of a division for a consultant that was just placed there.
+     */
+    private void addMoves(int consultant, int div) {
+        long base = cost(consultant, div);
+        for (int other = 0; other < k; other++) {
+            if (other != div)
+                moves[div * k + other].push(cost(consultant, other) - base, consultant);
+        }
+    }
+
+    /**
+     * Sum of the preference points of an assignment returned by solve().
+     *
+     * @param result Division per consultant
+     * @return Total preference points
+     */
+    long getTotal(int[] result) {
+        long total = 0;
+        for (int consultant = 0; consultant < n; consultant++) {
+            if (result[consultant] >= 0)
+                total += points[consultant][result[consultant]];
+        }
+        return total;
+    }
+}
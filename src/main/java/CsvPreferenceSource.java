@@ -0,0 +1,233 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Reads the roster from a local CSV or TSV file, one consultant per line:
+ * a name followed by one integer point value per division, e.g.
+ * "Jane Doe,40,20,20,10,10". The name may be double-quoted to contain the
+ * delimiter. Blank lines and a UTF-8 byte order mark are ignored, and the
+ * first remaining line is taken as a header and skipped if its values are
+ * not integers.
+ *
+ * The file is streamed through a FileChannel in fixed-size chunks and the
+ * bytes are parsed in place straight into a flat int array, so apart from
+ * one String per name nothing is allocated per line or per cell.
+ *
+ * @author Naren Yenuganti
+ */
+
+class CsvPreferenceSource implements PreferenceSource {
+
+    private static final int CHUNK = 1 << 16;
+    private final Path file;
+    private final byte delimiter;
+
+    // Parser state, carried across chunks.
+    private ArrayList<Object> names;
+    private int[] data;
+    private int rows;
+    private int cols;
+    private long line;
+    private int field;
+    private boolean blank;
+    private byte[] name;
+    private int nameLength;
+    private boolean quoted;
+    private boolean quoteOpen;
+    private int[] values;
+    private long value;
+    private boolean negative;
+    private boolean digits;
+    private boolean ended;
+    private boolean invalid;
+    private boolean text;
+    private boolean header;
+
+    /**
+     * Splits on tabs for a .tsv file and on commas otherwise.
+     * @param file CSV or TSV file
+     */
+    CsvPreferenceSource(Path file) {
+        this(file, file.toString().toLowerCase().endsWith(".tsv") ? (byte) '\t' : (byte) ',');
+    }
+
+    /**
+     * @param file Delimited text file
+     * @param delimiter Field separator, an ASCII character
+     */
+    CsvPreferenceSource(Path file, byte delimiter) {
+        if (delimiter == '"' || delimiter == '\n' || delimiter == '\r' || delimiter < 0)
+            throw new IllegalArgumentException("Unsupported delimiter: " + delimiter);
+        this.file = file;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public synchronized Preferences load() throws IOException {
+        names = new ArrayList<>();
+        data = new int[CHUNK];
+        rows = 0;
+        cols = -1;
+        line = 1;
+        invalid = false;
+        text = false;
+        header = true;
+        name = new byte[64];
+        values = new int[16];
+        startLine();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+            byte[] bytes = buffer.array();
+            // Read at least the three bytes of a byte order mark before looking for it.
+            while (buffer.position() < 3 && channel.read(buffer) >= 0) {
+                continue;
+            }
+            int read = buffer.position();
+            int start = 0;
+            if (read >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF)
+                start = 3;
+            parse(bytes, start, read);
+            buffer.clear();
+            while ((read = channel.read(buffer)) >= 0) {
+                parse(bytes, 0, read);
+                buffer.clear();
+            }
+            if (!blank)
+                endLine();
+            CostMatrix points = new CostMatrix(0, 0);
+            points.rows = rows;
+            points.cols = Math.max(cols, 0);
+            points.data = Arrays.copyOf(data, rows * points.cols);
+            return new Preferences(names, points);
+        } finally {
+            data = null;
+            values = null;
+            name = null;
+        }
+    }
+
+    private void parse(byte[] bytes, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (quoteOpen) {
+                if (b == '"') {
+                    quoteOpen = false;
+                } else {
+                    appendName(b);
+                }
+                continue;
+            }
+            if (b == '\n') {
+                if (!blank)
+                    endLine();
+                line++;
+                startLine();
+            } else if (b == delimiter) {
+                blank = false;
+                endField();
+                field++;
+            } else if (b == '\r') {
+                continue;
+            } else if (field == 0) {
+                blank = false;
+                if (b == '"') {
+                    // A quote right after a closing quote is an escaped quote.
+                    if (quoted)
+                        appendName(b);
+                    quoted = true;
+                    quoteOpen = true;
+                } else {
+                    appendName(b);
+                }
+            } else {
+                blank = false;
+                if (b >= '0' && b <= '9') {
+                    if (ended)
+                        invalid = true;
+                    digits = true;
+                    value = value * 10 + (b - '0');
+                    if (value > Integer.MAX_VALUE + 1L)
+                        invalid = true;
+                } else if (b == ' ' || b == '\t') {
+                    if (digits)
+                        ended = true;
+                } else if (b == '-' && !digits && !negative) {
+                    negative = true;
+                } else if (!(b == '+' && !digits)) {
+                    invalid = true;
+                    text = true;
+                }
+            }
+        }
+    }
+
+    private void appendName(byte b) {
+        if (nameLength == name.length)
+            name = Arrays.copyOf(name, nameLength * 2);
+        name[nameLength++] = b;
+    }
+
+    private void startLine() {
+        field = 0;
+        blank = true;
+        nameLength = 0;
+        quoted = false;
+        quoteOpen = false;
+        startField();
+    }
+
+    private void startField() {
+        value = 0;
+        negative = false;
+        digits = false;
+        ended = false;
+    }
+
+    /**
+     * Stores the value of the numeric field just finished.
+     */
+    private void endField() {
+        if (field > 0) {
+            long result = negative ? -value : value;
+            if (!digits || result > Integer.MAX_VALUE)
+                invalid = true;
+            if (field > values.length)
+                values = Arrays.copyOf(values, values.length * 2);
+            values[field - 1] = (int) result;
+        }
+        startField();
+    }
+
+    private void endLine() throws IOException {
+        if (quoteOpen)
+            throw new IOException(file + ":" + line + ": unterminated quote");
+        endField();
+        boolean first = header;
+        header = false;
+        if (invalid) {
+            if (text && first) {
+                invalid = false;
+                text = false;
+                return;
+            }
+            throw new IOException(file + ":" + line + ": expected integer points");
+        }
+        if (cols < 0)
+            cols = field;
+        else if (field != cols)
+            throw new IOException(file + ":" + line + ": expected " + cols + " points, found " + field);
+        if ((long) (rows + 1) * cols > Integer.MAX_VALUE - 8)
+            throw new IOException(file + ":" + line + ": roster too large");
+        if ((rows + 1) * cols > data.length)
+            data = Arrays.copyOf(data, (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) data.length * 2, (rows + 1L) * cols)));
+        System.arraycopy(values, 0, data, rows * cols, cols);
+        rows++;
+        names.add(new String(name, 0, nameLength, StandardCharsets.UTF_8).trim());
+    }
+}
@@ -0,0 +1,372 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinator of an auction spread over several worker JVMs, for instances
+ * too large for one machine's heap and cores.
+ *
+ * The matrix is a MatrixFile that every AuctionWorker maps itself; each
+ * worker owns a contiguous shard of the rows and computes their bids. The
+ * coordinator never reads a cell. It keeps the prices, owners and the
+ * queue of unassigned rows, O(m) in all, and runs the rounds of
+ * AuctionSolver: it sends every worker the prices changed by the last
+ * award and its unassigned rows, gathers the bids and gives each column
+ * to its highest bidder. The auction has converged when a phase with
+ * epsilon = 1 ends with every row assigned. Costs are scaled by (m + 1) as
+ * in AuctionSolver, so the result is exactly optimal for integer costs.
+ *
+ * Workers connect to the coordinator over TCP on the loopback interface.
+ * They can be started by the coordinator as child JVMs on the same class
+ * path, or by hand with "AuctionWorker port".
+ *
+ * @author Naren Yenuganti
+ */
+
+class DistributedAuction implements AutoCloseable {
+
+    private static final int SCALING_FACTOR = 6;
+    private static final int ACCEPT_TIMEOUT = 60000;
+    private final ServerSocket server;
+    private final List<Process> processes = new ArrayList<>();
+    private final List<Connection> workers = new ArrayList<>();
+    private int rounds;
+
+    /**
+     * Listens on the loopback interface and waits for the workers.
+     * @param port Port to listen on, 0 for any free port
+     * @param count Number of workers
+     * @param spawn True to start the workers as child JVMs, false to wait
+     *              for workers started by hand
+     */
+    DistributedAuction(int port, int count, boolean spawn) throws IOException {
+        if (count < 1)
+            throw new IllegalArgumentException("Need at least one worker, got " + count);
+        server = new ServerSocket(port, count, InetAddress.getLoopbackAddress());
+        try {
+            server.setSoTimeout(ACCEPT_TIMEOUT);
+            if (spawn) {
+                String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+                for (int i = 0; i < count; i++) {
+                    processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                            "AuctionWorker", String.valueOf(server.getLocalPort()))
+                            .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                            .redirectError(ProcessBuilder.Redirect.INHERIT)
+                            .start());
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                workers.add(new Connection(server.accept()));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Port the coordinator listens on.
+     */
+    int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Solves the matrix in the file on the workers.
+     *
+     * @param file MatrixFile of an n x m matrix with n <= m, readable by every worker
+     * @param maximize True to maximize the total instead of minimizing it
+     * @return Assignment and total
+     * @throws IOException If a worker fails or disconnects
+     */
+    AssignmentResult solve(Path file, boolean maximize) throws IOException {
+        // The coordinator only needs the shape, the workers map the cells.
+        int[] shape = MatrixFile.shape(file);
+        int n = shape[0];
+        int size = shape[1];
+        if (n > size)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + size);
+        int count = workers.size();
+        int[] shard = new int[size];
+        String path = file.toAbsolutePath().toString();
+        for (int w = 0; w < count; w++) {
+            Connection worker = workers.get(w);
+            worker.from = (int) ((long) size * w / count);
+            worker.to = (int) ((long) size * (w + 1) / count);
+            Arrays.fill(shard, worker.from, worker.to, w);
+            worker.out.writeByte(AuctionWorker.LOAD);
+            worker.out.writeUTF(path);
+            worker.out.writeBoolean(maximize);
+            worker.out.writeInt(size);
+            worker.out.writeInt(worker.from);
+            worker.out.writeInt(worker.to);
+            worker.out.flush();
+        }
+        long max = 0;
+        String error = null;
+        for (Connection worker : workers) {
+            if (worker.in.readBoolean())
+                max = Math.max(max, worker.in.readLong());
+            else
+                error = worker.in.readUTF();
+        }
+        if (error != null)
+            throw new IOException("Worker failed to load " + path + ": " + error);
+        long scale = size + 1L;
+        if (max > Long.MAX_VALUE / 4 / scale)
+            throw new IllegalArgumentException("Cost " + max + " is too large to scale by " + scale);
+        Auction auction = new Auction(size, shard);
+        long epsilon = Math.max(1, max * scale / SCALING_FACTOR);
+        rounds = 0;
+        while (true) {
+            auction.phase(epsilon);
+            if (epsilon == 1)
+                break;
+            epsilon = Math.max(1, epsilon / SCALING_FACTOR);
+        }
+        int[] assignment = Arrays.copyOf(auction.assigned, n);
+        long total = 0;
+        for (Connection worker : workers) {
+            int end = Math.min(worker.to, n);
+            int rows = Math.max(0, end - worker.from);
+            worker.out.writeByte(AuctionWorker.TOTAL);
+            worker.out.writeInt(rows);
+            for (int row = worker.from; row < worker.from + rows; row++) {
+                worker.out.writeInt(assignment[row]);
+            }
+            worker.out.flush();
+        }
+        for (Connection worker : workers) {
+            total += worker.in.readLong();
+        }
+        return new AssignmentResult(assignment, total);
+    }
+
+    /**
+     * @return Number of bidding rounds over all phases of the last solve.
+     */
+    int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Stops the workers and waits for the spawned ones to exit.
+     */
+    @Override
+    public void close() throws IOException {
+        for (Connection worker : workers) {
+            try {
+                worker.out.writeByte(AuctionWorker.STOP);
+                worker.out.flush();
+            } catch (IOException e) {
+                // The worker is gone already.
+            }
+            worker.socket.close();
+        }
+        server.close();
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS))
+                    process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Coordinator side state of one solve.
+     */
+    private final class Auction {
+        final int size;
+        final int[] shard;
+        final long[] price;
+        final int[] owner;
+        final int[] assigned;
+        final int[] bidObject;
+        final long[] bidAmount;
+        final int[] bestBidder;
+        final int[] queue;
+        final int[] touched;
+        final int[] perWorker;
+        int queueSize;
+        int changes;
+
+        Auction(int size, int[] shard) {
+            this.size = size;
+            this.shard = shard;
+            price = new long[size];
+            owner = new int[size];
+            assigned = new int[size];
+            bidObject = new int[size];
+            bidAmount = new long[size];
+            bestBidder = new int[size];
+            queue = new int[size];
+            touched = new int[size];
+            perWorker = new int[workers.size()];
+            Arrays.fill(bestBidder, -1);
+        }
+
+        /**
+         * One epsilon phase: starts from an empty assignment with the prices
+         * of the last phase and auctions until every row has a column.
+         */
+        void phase(long epsilon) throws IOException {
+            Arrays.fill(owner, -1);
+            Arrays.fill(assigned, -1);
+            queueSize = size;
+            for (int row = 0; row < size; row++) {
+                queue[row] = row;
+            }
+            while (queueSize > 0) {
+                rounds++;
+                bid(epsilon);
+                award();
+            }
+        }
+
+        /**
+         * Sends each worker the changed prices and its queued rows, then
+         * reads the bids back. All requests go out before any answer is
+         * read, so the workers bid at the same time. Each worker answers
+         * its rows in queue order.
+         */
+        private void bid(long epsilon) throws IOException {
+            Arrays.fill(perWorker, 0);
+            for (int k = 0; k < queueSize; k++) {
+                perWorker[shard[queue[k]]]++;
+            }
+            for (int w = 0; w < workers.size(); w++) {
+                DataOutputStream out = workers.get(w).out;
+                out.writeByte(AuctionWorker.BID);
+                out.writeLong(epsilon);
+                out.writeInt(changes);
+                for (int k = 0; k < changes; k++) {
+                    out.writeInt(touched[k]);
+                    out.writeLong(price[touched[k]]);
+                }
+                out.writeInt(perWorker[w]);
+                for (int k = 0; k < queueSize; k++) {
+                    if (shard[queue[k]] == w)
+                        out.writeInt(queue[k]);
+                }
+                out.flush();
+            }
+            for (int w = 0; w < workers.size(); w++) {
+                DataInputStream in = workers.get(w).in;
+                for (int k = 0; k < queueSize; k++) {
+                    int row = queue[k];
+                    if (shard[row] == w) {
+                        int col = in.readInt();
+                        if (col < 0 || col >= size)
+                            throw new IOException("Worker " + w + " bid on column " + col);
+                        bidObject[row] = col;
+                        bidAmount[row] = in.readLong();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Gives each column to its highest bidder (lowest row on ties), puts
+         * the rows that were outbid back in the queue and remembers the
+         * columns whose price changed for the next round.
+         */
+        private void award() {
+            int touchedSize = 0;
+            for (int k = 0; k < queueSize; k++) {
+                int row = queue[k];
+                int col = bidObject[row];
+                int current = bestBidder[col];
+                if (current < 0) {
+                    touched[touchedSize++] = col;
+                    bestBidder[col] = row;
+                } else if (bidAmount[row] > bidAmount[current] || bidAmount[row] == bidAmount[current] && row < current) {
+                    bestBidder[col] = row;
+                }
+            }
+            int losers = 0;
+            for (int k = 0; k < queueSize; k++) {
+                int row = queue[k];
+                if (bestBidder[bidObject[row]] != row)
+                    queue[losers++] = row;
+            }
+            for (int k = 0; k < touchedSize; k++) {
+                int col = touched[k];
+                int row = bestBidder[col];
+                bestBidder[col] = -1;
+                if (owner[col] >= 0) {
+                    assigned[owner[col]] = -1;
+                    queue[losers++] = owner[col];
+                }
+                owner[col] = row;
+                assigned[row] = col;
+                price[col] = bidAmount[row];
+            }
+            queueSize = losers;
+            changes = touchedSize;
+        }
+    }
+
+    /**
+     * Socket and streams of one worker, with the rows of its shard.
+     */
+    private static final class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+        int from;
+        int to;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeInt(AuctionWorker.MAGIC);
+        }
+    }
+
+    /**
+     * Solves a MatrixFile on worker JVMs and checks the total against the
+     * single-process MappedShortestPathSolver.
+     * @param args Matrix file, number of workers, optionally "max" and the
+     *             port of hand-started workers to wait for instead of
+     *             spawning them
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: DistributedAuction <matrix.hamx> <workers> [min|max] [port]");
+            return;
+        }
+        Path file = Paths.get(args[0]);
+        int count = Integer.parseInt(args[1]);
+        boolean maximize = args.length > 2 && args[2].equals("max");
+        int port = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        try (DistributedAuction auction = new DistributedAuction(port, count, port == 0)) {
+            long start = System.nanoTime();
+            AssignmentResult result = auction.solve(file, maximize);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("Auction on %d workers: %d ms, %d rounds, total %d\n",
+                    count, elapsed / 1000000, auction.getRounds(), result.getTotal());
+            MappedCostMatrix costs = MatrixFile.map(file);
+            start = System.nanoTime();
+            long expected = MappedShortestPathSolver.total(costs, MappedShortestPathSolver.solve(costs, maximize, new SolverWorkspace()));
+            System.out.printf("Single process shortest path: %d ms, total %d, %s\n",
+                    (System.nanoTime() - start) / 1000000, expected, expected == result.getTotal() ? "optimal" : "MISMATCH");
+        }
+    }
+}
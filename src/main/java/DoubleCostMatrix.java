@@ -0,0 +1,71 @@
+/**
+ * Cost matrix of double values stored as a single row-major double array.
+ * Cell (row, col) lives at data[row * cols + col], so a row is one
+ * contiguous run of memory. The array can be reused for matrices of equal
+ * or smaller size through reset().
+ *
+ * @author Naren Yenuganti
+ */
+
+final class DoubleCostMatrix {
+
+    int rows;
+    int cols;
+    double[] data;
+
+    /**
+     * Creates a matrix of zeros.
+     * @param rows Number of rows
+     * @param cols Number of columns
+     */
+    DoubleCostMatrix(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        data = new double[rows * cols];
+    }
+
+    /**
+     * Copies a jagged matrix into flat storage.
+     * @param matrix Rectangular 2d-array
+     * @return Flat copy
+     */
+    static DoubleCostMatrix of(double[][] matrix) {
+        DoubleCostMatrix result = new DoubleCostMatrix(matrix.length, matrix.length == 0 ? 0 : matrix[0].length);
+        result.copyFrom(matrix);
+        return result;
+    }
+
+    /**
+     * Resizes the matrix, keeping the backing array when it is large enough.
+     * The contents are unspecified afterwards.
+     * @param rows Number of rows
+     * @param cols Number of columns
+     */
+    void reset(int rows, int cols) {
+        if (data.length < rows * cols)
+            data = new double[rows * cols];
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Resizes to the jagged matrix and copies it in.
+     * @param matrix Rectangular 2d-array
+     */
+    void copyFrom(double[][] matrix) {
+        reset(matrix.length, matrix.length == 0 ? 0 : matrix[0].length);
+        for (int row = 0; row < rows; row++) {
+            if (matrix[row].length != cols)
+                throw new IllegalArgumentException("Row " + row + " has " + matrix[row].length + " columns, expected " + cols);
+            System.arraycopy(matrix[row], 0, data, row * cols, cols);
+        }
+    }
+
+    double get(int row, int col) {
+        return data[row * cols + col];
+    }
+
+    void set(int row, int col, double value) {
+        data[row * cols + col] = value;
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.Arrays;
+
+/**
+ * ShortestPathSolver specialized for double costs, so fractional scores can
+ * be used without scaling. Costs stay primitive in a flat DoubleCostMatrix
+ * and the potentials are doubles held by the solver, which grows them to
+ * the largest problem seen and reuses them. Maximization negates on read.
+ *
+ * Rounding makes exact comparisons unreliable, so reduced costs within a
+ * tolerance of each other count as ties (isZero). By default the tolerance
+ * is 1e-9 times the largest absolute cost.
+ *
+ * @author Naren Yenuganti
+ */
+
+class DoubleShortestPathSolver {
+
+    static final double RELATIVE_TOLERANCE = 1e-9;
+    private final double fixedTolerance;
+    private double tolerance;
+    private double[] u = new double[0];
+    private double[] v = new double[0];
+    private double[] minv = new double[0];
+    private int[] p = new int[0];
+    private int[] way = new int[0];
+    private boolean[] used = new boolean[0];
+    private int[] assignment = new int[0];
+
+    /**
+     * Uses a tolerance relative to the largest absolute cost of each matrix.
+     */
+    DoubleShortestPathSolver() {
+        this(-1);
+    }
+
+    /**
+     * @param tolerance Absolute tolerance of the zero test, negative for relative.
+     */
+    DoubleShortestPathSolver(double tolerance) {
+        fixedTolerance = tolerance;
+    }
+
+    /**
+     * Tolerance-aware zero test for differences of reduced costs.
+     * @param value Difference to test
+     * @return true if the value counts as zero
+     */
+    boolean isZero(double value) {
+        return Math.abs(value) <= tolerance;
+    }
+
+    /**
+     * Solves the problem.
+     *
+     * @param costs n x m matrix with n <= m, finite values only
+     * @param maximize True to maximize the total instead of minimizing it
+     * @return Column assigned to each row, reused by the next solve
+     */
+    int[] solve(DoubleCostMatrix costs, boolean maximize) {
+        int n = costs.rows;
+        int m = costs.cols;
+        if (n > m)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        double max = 0;
+        for (int i = 0; i < n * m; i++) {
+            double cost = costs.data[i];
+            if (Double.isNaN(cost) || Double.isInfinite(cost))
+                throw new IllegalArgumentException("Cost " + cost + " at (" + i / m + ", " + i % m + ") is not finite");
+            max = Math.max(max, Math.abs(cost));
+        }
+        tolerance = fixedTolerance >= 0 ? fixedTolerance : RELATIVE_TOLERANCE * Math.max(1, max);
+        if (u.length < n + 1) {
+            u = new double[n + 1];
+            assignment = new int[n];
+        }
+        if (v.length < m + 1) {
+            v = new double[m + 1];
+            minv = new double[m + 1];
+            p = new int[m + 1];
+            way = new int[m + 1];
+            used = new boolean[m + 1];
+        }
+        Arrays.fill(u, 0, n + 1, 0);
+        Arrays.fill(v, 0, m + 1, 0);
+        Arrays.fill(p, 0, m + 1, 0);
+        for (int row = 1; row <= n; row++) {
+            augment(costs, maximize, row);
+        }
+        for (int col = 1; col <= m; col++) {
+            if (p[col] != 0)
+                assignment[p[col] - 1] = col - 1;
+        }
+        return assignment;
+    }
+
+    /**
+     * Sum of the assigned cells.
+     * @param costs Cost matrix
+     * @param assignment Column per row
+     * @return Total
+     */
+    static double total(DoubleCostMatrix costs, int[] assignment) {
+        double total = 0;
+        for (int row = 0; row < costs.rows; row++) {
+            total += costs.get(row, assignment[row]);
+        }
+        return total;
+    }
+
+    /**
+     * Adds one unmatched row along a shortest augmenting path, as in
+     * ShortestPathSolver.augment. Near ties prefer a free column.
+     *
+     * @param row 1-based row index
+     */
+    private void augment(DoubleCostMatrix costs, boolean maximize, int row) {
+        int m = costs.cols;
+        double[] data = costs.data;
+        double sign = maximize ? -1 : 1;
+        p[0] = row;
+        int col0 = 0;
+        for (int col = 0; col <= m; col++) {
+            minv[col] = Double.POSITIVE_INFINITY;
+            used[col] = false;
+        }
+        do {
+            used[col0] = true;
+            int row0 = p[col0];
+            int base = (row0 - 1) * m - 1;
+            double u0 = u[row0];
+            double delta = Double.POSITIVE_INFINITY;
+            int col1 = 0;
+            for (int col = 1; col <= m; col++) {
+                if (!used[col]) {
+                    double cur = sign * data[base + col] - u0 - v[col];
+                    if (cur < minv[col]) {
+                        minv[col] = cur;
+                        way[col] = col0;
+                    }
+                    double diff = minv[col] - delta;
+                    boolean better;
+                    if (col1 == 0 || !isZero(diff)) {
+                        better = diff < 0;
+                    } else {
+                        boolean free = p[col] == 0;
+                        better = free != (p[col1] == 0) ? free : diff < 0;
+                    }
+                    if (better) {
+                        delta = minv[col];
+                        col1 = col;
+                    }
+                }
+            }
+            for (int col = 0; col <= m; col++) {
+                if (used[col]) {
+                    u[p[col]] += delta;
+                    v[col] -= delta;
+                } else {
+                    minv[col] -= delta;
+                }
+            }
+            col0 = col1;
+        } while (p[col0] != 0);
+        ShortestPathSolver.flip(p, way, col0);
+    }
+}
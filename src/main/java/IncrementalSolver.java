@@ -0,0 +1,263 @@
+import java.util.Arrays;
+
+/**
+ * Solver session that keeps the dual potentials and the matching of the
+ * last solve so single row changes can be repaired instead of re-solved.
+ *
+ * The problem is held as a square matrix of size max(rows, cols). Missing
+ * rows or columns are dummies worth zero (never both at once), so the
+ * matching is always perfect and the potentials of every other row stay
+ * feasible when one row changes. Updating, adding or removing a row
+ * unmatches at most two rows, lowers their potentials until their reduced
+ * costs are non-negative again and runs one shortest augmenting path each:
+ * O(n^2) per changed row, where a cold solve is O(n^3).
+ * The total always equals that of a cold solve on the same rows.
+ *
+ * Rows are identified by ids that stay fixed while other rows come and go;
+ * the id of a removed row may be handed out again by addRow.
+ *
+ * @author Naren Yenuganti
+ */
+
+class IncrementalSolver {
+
+    private final int cols;
+    private final boolean maximize;
+    private final SolverWorkspace workspace = new SolverWorkspace();
+    private final CostMatrix costs;
+    private int size;
+    private int live;
+    private int[] slotOf;
+    private int[] idOf;
+    private int[] result;
+
+    /**
+     * Runs the initial cold solve.
+     * @param matrix Initial rows, each with cols entries. Row i gets id i.
+     * @param cols Number of columns.
+     * @param maximize True to maximize the total instead of minimizing it.
+     */
+    IncrementalSolver(int[][] matrix, int cols, boolean maximize) {
+        this.cols = cols;
+        this.maximize = maximize;
+        live = matrix.length;
+        size = Math.max(live, cols);
+        costs = new CostMatrix(size, size);
+        slotOf = new int[Math.max(live, 1)];
+        idOf = new int[size];
+        Arrays.fill(slotOf, -1);
+        Arrays.fill(idOf, -1);
+        for (int row = 0; row < live; row++) {
+            write(row, matrix[row]);
+            slotOf[row] = row;
+            idOf[row] = row;
+        }
+        ShortestPathSolver.solve(costs, maximize, workspace);
+    }
+
+    /**
+     * Replaces the costs of a row and repairs the solution.
+     * @param id Row id.
+     * @param rowCosts New costs, one per column.
+     */
+    void updateRow(int id, int[] rowCosts) {
+        int slot = slotOf(id);
+        write(slot, rowCosts);
+        unmatch(slot + 1);
+        repair(slot + 1);
+    }
+
+    /**
+     * Adds a row.
+     * @param rowCosts Costs, one per column.
+     * @return Id of the new row.
+     */
+    int addRow(int[] rowCosts) {
+        if (rowCosts.length != cols)
+            throw new IllegalArgumentException("Row has " + rowCosts.length + " columns, expected " + cols);
+        int id = 0;
+        while (id < slotOf.length && slotOf[id] >= 0) {
+            id++;
+        }
+        if (id == slotOf.length) {
+            slotOf = Arrays.copyOf(slotOf, id * 2);
+            Arrays.fill(slotOf, id, slotOf.length, -1);
+        }
+        int slot;
+        if (live < cols) {
+            slot = 0;
+            while (idOf[slot] >= 0) {
+                slot++;
+            }
+        } else {
+            grow();
+            slot = size - 1;
+        }
+        write(slot, rowCosts);
+        slotOf[id] = slot;
+        idOf[slot] = id;
+        live++;
+        unmatch(slot + 1);
+        repair(slot + 1);
+        return id;
+    }
+
+    /**
+     * Removes a row.
+     * @param id Row id.
+     */
+    void removeRow(int id) {
+        int slot = slotOf(id);
+        slotOf[id] = -1;
+        idOf[slot] = -1;
+        live--;
+        if (live >= cols) {
+            shrink(slot);
+        } else {
+            Arrays.fill(costs.data, slot * size, slot * size + cols, 0);
+            unmatch(slot + 1);
+            repair(slot + 1);
+        }
+    }
+
+    /**
+     * @return Column assigned to each row id, -1 for unused ids and rows left
+     * without a real column. Overwritten by the next call.
+     */
+    int[] assignment() {
+        int[] slots = ShortestPathSolver.extract(workspace);
+        if (result == null || result.length != slotOf.length)
+            result = new int[slotOf.length];
+        for (int id = 0; id < slotOf.length; id++) {
+            int slot = slotOf[id];
+            result[id] = slot >= 0 && slots[slot] < cols ? slots[slot] : -1;
+        }
+        return result;
+    }
+
+    /**
+     * @return Sum of the costs of the assigned cells.
+     */
+    long getTotal() {
+        int[] slots = ShortestPathSolver.extract(workspace);
+        long total = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (idOf[slot] >= 0 && slots[slot] < cols)
+                total += costs.get(slot, slots[slot]);
+        }
+        return total;
+    }
+
+    private int slotOf(int id) {
+        if (id < 0 || id >= slotOf.length || slotOf[id] < 0)
+            throw new IllegalArgumentException("No such row: " + id);
+        return slotOf[id];
+    }
+
+    private void write(int slot, int[] rowCosts) {
+        if (rowCosts.length != cols)
+            throw new IllegalArgumentException("Row has " + rowCosts.length + " columns, expected " + cols);
+        System.arraycopy(rowCosts, 0, costs.data, slot * size, cols);
+    }
+
+    /**
+     * Adds one empty row slot and one dummy column. The new column gets the
+     * largest potential that keeps every existing row feasible.
+     */
+    private void grow() {
+        int next = size + 1;
+        resize(next);
+        idOf = Arrays.copyOf(idOf, next);
+        idOf[size] = -1;
+        workspace.ensure(next, next);
+        long v = Long.MAX_VALUE;
+        for (int row = 1; row <= size; row++) {
+            v = Math.min(v, -workspace.u[row]);
+        }
+        workspace.v[next] = size == 0 ? 0 : v;
+        workspace.u[next] = 0;
+        workspace.p[next] = 0;
+        size = next;
+    }
+
+    /**
+     * Drops a removed row together with the last dummy column. The last row
+     * moves into the freed slot; if the dummy column belonged to another
+     * row, that row is re-augmented.
+     * @param slot Slot of the removed row
+     */
+    private void shrink(int slot) {
+        int[] p = workspace.p;
+        int last = size;
+        unmatch(slot + 1);
+        int orphan = p[last];
+        p[last] = 0;
+        if (slot + 1 != last) {
+            System.arraycopy(costs.data, (last - 1) * size, costs.data, slot * size, size);
+            workspace.u[slot + 1] = workspace.u[last];
+            for (int col = 1; col < last; col++) {
+                if (p[col] == last)
+                    p[col] = slot + 1;
+            }
+            if (orphan == last)
+                orphan = slot + 1;
+            idOf[slot] = idOf[last - 1];
+            slotOf[idOf[slot]] = slot;
+        }
+        resize(last - 1);
+        size = last - 1;
+        workspace.ensure(size, size);
+        if (orphan != 0)
+            repair(orphan);
+    }
+
+    /**
+     * Changes the size of the square matrix, keeping the overlapping cells.
+     */
+    private void resize(int next) {
+        int[] old = costs.data;
+        int oldSize = size;
+        int keep = Math.min(oldSize, next);
+        if (next > oldSize) {
+            costs.reset(next, next);
+            for (int row = keep - 1; row >= 0; row--) {
+                System.arraycopy(old, row * oldSize, costs.data, row * next, keep);
+                Arrays.fill(costs.data, row * next + keep, row * next + next, 0);
+            }
+            Arrays.fill(costs.data, keep * next, next * next, 0);
+        } else {
+            for (int row = 0; row < keep; row++) {
+                System.arraycopy(old, row * oldSize, costs.data, row * next, keep);
+            }
+            costs.reset(next, next);
+        }
+    }
+
+    /**
+     * Frees the column matched to a row.
+     * @param r 1-based row index
+     */
+    private void unmatch(int r) {
+        int[] p = workspace.p;
+        for (int col = 1; col <= size; col++) {
+            if (p[col] == r)
+                p[col] = 0;
+        }
+    }
+
+    /**
+     * Restores feasibility of an unmatched row's potential and re-augments it.
+     * @param r 1-based row index
+     */
+    private void repair(int r) {
+        long[] v = workspace.v;
+        long sign = maximize ? -1 : 1;
+        long u = Long.MAX_VALUE;
+        int base = (r - 1) * size - 1;
+        for (int col = 1; col <= size; col++) {
+            u = Math.min(u, sign * costs.data[base + col] - v[col]);
+        }
+        workspace.u[r] = u;
+        ShortestPathSolver.augment(costs, maximize, workspace, r);
+    }
+}
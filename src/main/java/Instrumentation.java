@@ -0,0 +1,71 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Switch for solver instrumentation. With no listener registered, start()
+ * returns null and the solvers skip every timer and counter, leaving one
+ * volatile read per solve.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class Instrumentation {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static volatile SolverListener listener;
+
+    private Instrumentation() {
+    }
+
+    /**
+     * @param solverListener Listener for every following solve, null to disable.
+     */
+    static void setListener(SolverListener solverListener) {
+        listener = solverListener;
+    }
+
+    /**
+     * Registers JfrSolveListener if it was built, which needs JDK 11+.
+     * @return true if solves are now recorded as JFR events
+     */
+    static boolean enableFlightRecorder() {
+        try {
+            Class<?> type = Class.forName("JfrSolveListener");
+            setListener((SolverListener) type.getDeclaredConstructor().newInstance());
+            return true;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Metrics for a new solve, or null when instrumentation is disabled.
+     */
+    static SolverMetrics start(String engine, int rows, int cols) {
+        return listener == null ? null : new SolverMetrics(engine, rows, cols);
+    }
+
+    /**
+     * Completes the metrics and hands them to the listener.
+     * @param metrics Value returned by start(), may be null.
+     */
+    static void finish(SolverMetrics metrics) {
+        SolverListener current = listener;
+        if (metrics != null && current != null) {
+            metrics.finish();
+            current.solved(metrics);
+        }
+    }
+
+    /**
+     * @return Bytes allocated so far by the current thread, -1 if unsupported.
+     */
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
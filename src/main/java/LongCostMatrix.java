@@ -0,0 +1,81 @@
+/**
+ * Cost matrix of long values stored as a single row-major long array.
+ * Cell (row, col) lives at data[row * cols + col], so a row is one
+ * contiguous run of memory. The array can be reused for matrices of equal
+ * or smaller size through reset().
+ *
+ * @author Naren Yenuganti
+ */
+
+final class LongCostMatrix implements LongShortestPathSolver.Rows {
+
+    int rows;
+    int cols;
+    long[] data;
+
+    /**
+     * Creates a matrix of zeros.
+     * @param rows Number of rows
+     * @param cols Number of columns
+     */
+    LongCostMatrix(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        data = new long[rows * cols];
+    }
+
+    /**
+     * Copies a jagged matrix into flat storage.
+     * @param matrix Rectangular 2d-array
+     * @return Flat copy
+     */
+    static LongCostMatrix of(long[][] matrix) {
+        LongCostMatrix result = new LongCostMatrix(matrix.length, matrix.length == 0 ? 0 : matrix[0].length);
+        result.copyFrom(matrix);
+        return result;
+    }
+
+    /**
+     * Resizes the matrix, keeping the backing array when it is large enough.
+     * The contents are unspecified afterwards.
+     * @param rows Number of rows
+     * @param cols Number of columns
+     */
+    void reset(int rows, int cols) {
+        if (data.length < rows * cols)
+            data = new long[rows * cols];
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Resizes to the jagged matrix and copies it in.
+     * @param matrix Rectangular 2d-array
+     */
+    void copyFrom(long[][] matrix) {
+        reset(matrix.length, matrix.length == 0 ? 0 : matrix[0].length);
+        for (int row = 0; row < rows; row++) {
+            if (matrix[row].length != cols)
+                throw new IllegalArgumentException("Row " + row + " has " + matrix[row].length + " columns, expected " + cols);
+            System.arraycopy(matrix[row], 0, data, row * cols, cols);
+        }
+    }
+
+    @Override
+    public int load(int row) {
+        return row * cols;
+    }
+
+    @Override
+    public long[] data() {
+        return data;
+    }
+
+    long get(int row, int col) {
+        return data[row * cols + col];
+    }
+
+    void set(int row, int col, long value) {
+        data[row * cols + col] = value;
+    }
+}
@@ -0,0 +1,86 @@
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of long keys carrying an int value, without boxing.
+ * Stale entries are left in place and skipped by the caller.
+ *
+ * @author Naren Yenuganti
+ */
+
+class LongHeap {
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongHeap() {
+        keys = new long[4];
+        values = new int[4];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    long topKey() {
+        return keys[0];
+    }
+
+    int topValue() {
+        return values[0];
+    }
+
+    /**
+     * Adds an entry.
+     * @param key Key to order by
+     * @param value Value carried with the key
+     */
+    void push(long key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key)
+                break;
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Removes the entry with the smallest key.
+     */
+    void pop() {
+        size--;
+        long key = keys[size];
+        int value = values[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child])
+                child++;
+            if (key <= keys[child])
+                break;
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * ShortestPathSolver specialized for long costs, for weighted scores that
+ * overflow int. Costs stay primitive in a flat LongCostMatrix, or any other
+ * Rows such as a mapped file, and share the long potentials and the path
+ * bookkeeping of SolverWorkspace and ShortestPathSolver. Maximization negates on read, so no
+ * negated and shifted copy of the matrix is made. Reduced costs are exact,
+ * so the zero test is plain equality.
+ * Costs must lie strictly within +-2^60 so potentials and path lengths
+ * cannot overflow; solve() rejects anything larger.
+ *
+ * @author Naren Yenuganti
+ */
+
+class LongShortestPathSolver {
+
+    static final long LIMIT = 1L << 60;
+    private static final long INF = Long.MAX_VALUE / 2;
+
+    private LongShortestPathSolver() {
+    }
+
+    /**
+     * Where augment reads the costs of a row from.
+     */
+    interface Rows {
+
+        /**
+         * Makes a row readable.
+         * @param row 0-based row index
+         * @return Offset of the row's first cell in data()
+         */
+        int load(int row);
+
+        /**
+         * @return Array holding the cells of the last loaded row
+         */
+        long[] data();
+    }
+
+    /**
+     * Solves the problem without allocating once the workspace is large enough.
+     *
+     * @param costs n x m matrix with n <= m
+     * @param maximize True to maximize the total instead of minimizing it
+     * @param ws Scratch arrays
+     * @return Column assigned to each row, owned by ws
+     */
+    static int[] solve(LongCostMatrix costs, boolean maximize, SolverWorkspace ws) {
+        int n = costs.rows;
+        int m = costs.cols;
+        if (n > m)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        for (int i = 0; i < n * m; i++) {
+            long cost = costs.data[i];
+            if (cost <= -LIMIT || cost >= LIMIT)
+                throw new IllegalArgumentException("Cost " + cost + " at (" + i / m + ", " + i % m + ") is outside +-2^60");
+        }
+        ws.reset(n, m);
+        for (int row = 1; row <= n; row++) {
+            augment(costs, maximize, ws, row);
+        }
+        return ShortestPathSolver.extract(ws);
+    }
+
+    /**
+     * Sum of the assigned cells.
+     * @param costs Cost matrix
+     * @param assignment Column per row, -1 for none
+     * @return Total
+     */
+    static long total(LongCostMatrix costs, int[] assignment) {
+        long total = 0;
+        for (int row = 0; row < costs.rows; row++) {
+            if (assignment[row] >= 0)
+                total += costs.get(row, assignment[row]);
+        }
+        return total;
+    }
+
+    /**
+     * Adds one unmatched row along a shortest augmenting path, as in
+     * ShortestPathSolver.augment.
+     *
+     * @param rows Costs, within +-2^60
+     * @param row 1-based row index
+     */
+    static void augment(Rows rows, boolean maximize, SolverWorkspace ws, int row) {
+        int m = ws.m;
+        long sign = maximize ? -1 : 1;
+        long[] u = ws.u;
+        long[] v = ws.v;
+        long[] minv = ws.minv;
+        int[] p = ws.p;
+        int[] way = ws.way;
+        boolean[] used = ws.used;
+        ShortestPathSolver.begin(ws, row, INF);
+        int col0 = 0;
+        do {
+            used[col0] = true;
+            int row0 = p[col0];
+            int base = rows.load(row0 - 1) - 1;
+            long[] data = rows.data();
+            long u0 = u[row0];
+            long delta = INF;
+            int col1 = 0;
+            for (int col = 1; col <= m; col++) {
+                if (!used[col]) {
+                    long cur = sign * data[base + col] - u0 - v[col];
+                    if (cur < minv[col]) {
+                        minv[col] = cur;
+                        way[col] = col0;
+                    }
+                    if (minv[col] < delta || minv[col] == delta && p[col] == 0 && p[col1] != 0) {
+                        delta = minv[col];
+                        col1 = col;
+                    }
+                }
+            }
+            ShortestPathSolver.shift(ws, delta);
+            col0 = col1;
+        } while (p[col0] != 0);
+        ShortestPathSolver.flip(p, way, col0);
+    }
+}
@@ -0,0 +1,63 @@
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Read-only cost matrix backed by a memory-mapped MatrixFile. Cells are
+ * read straight from the mapping, so the instance never lives on the heap.
+ * A mapping is limited to 2 GiB, so large files are mapped as several
+ * segments of whole rows. Reads are absolute and do not touch the buffer
+ * positions, so one matrix can be shared between threads.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class MappedCostMatrix {
+
+    final int rows;
+    final int cols;
+    final int elementBytes;
+    private final int rowsPerSegment;
+    private final IntBuffer[] ints;
+    private final LongBuffer[] longs;
+
+    /**
+     * @param rows Number of rows
+     * @param cols Number of columns
+     * @param rowsPerSegment Rows in every segment but the last
+     * @param ints Segments of an int matrix, or null
+     * @param longs Segments of a long matrix, or null
+     */
+    MappedCostMatrix(int rows, int cols, int rowsPerSegment, IntBuffer[] ints, LongBuffer[] longs) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowsPerSegment = rowsPerSegment;
+        this.ints = ints;
+        this.longs = longs;
+        elementBytes = ints != null ? Integer.BYTES : Long.BYTES;
+    }
+
+    long get(int row, int col) {
+        int index = (row % rowsPerSegment) * cols + col;
+        return ints != null ? ints[row / rowsPerSegment].get(index) : longs[row / rowsPerSegment].get(index);
+    }
+
+    /**
+     * Copies one row into a scratch array.
+     * @param row Row index
+     * @param dst Array of at least cols elements
+     */
+    void readRow(int row, long[] dst) {
+        int base = (row % rowsPerSegment) * cols;
+        if (ints != null) {
+            IntBuffer segment = ints[row / rowsPerSegment];
+            for (int col = 0; col < cols; col++) {
+                dst[col] = segment.get(base + col);
+            }
+        } else {
+            LongBuffer segment = longs[row / rowsPerSegment];
+            for (int col = 0; col < cols; col++) {
+                dst[col] = segment.get(base + col);
+            }
+        }
+    }
+}
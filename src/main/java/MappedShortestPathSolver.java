@@ -0,0 +1,83 @@
+/**
+ * ShortestPathSolver reading its costs from a MappedCostMatrix, so a huge
+ * instance is solved straight out of the mapped file. The Dijkstra steps
+ * are LongShortestPathSolver's; each one copies the row it scans into a
+ * scratch array, and nothing else of the matrix is copied. Costs of long
+ * files must lie within +-2^60 as in LongShortestPathSolver.
+ *
+ * @author Naren Yenuganti
+ */
+
+class MappedShortestPathSolver {
+
+    private MappedShortestPathSolver() {
+    }
+
+    /**
+     * Solves the problem.
+     *
+     * @param costs n x m matrix with n <= m
+     * @param maximize True to maximize the total instead of minimizing it
+     * @param ws Scratch arrays
+     * @return Column assigned to each row, owned by ws
+     */
+    static int[] solve(MappedCostMatrix costs, boolean maximize, SolverWorkspace ws) {
+        int n = costs.rows;
+        int m = costs.cols;
+        if (n > m)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        long[] line = new long[m];
+        if (costs.elementBytes == Long.BYTES) {
+            for (int row = 0; row < n; row++) {
+                costs.readRow(row, line);
+                for (int col = 0; col < m; col++) {
+                    if (line[col] <= -LongShortestPathSolver.LIMIT || line[col] >= LongShortestPathSolver.LIMIT)
+                        throw new IllegalArgumentException("Cost " + line[col] + " at (" + row + ", " + col + ") is outside +-2^60");
+                }
+            }
+        }
+        SolverMetrics metrics = Instrumentation.start("mapped", n, m);
+        long time = metrics == null ? 0 : metrics.start();
+        LongShortestPathSolver.Rows rows = new LongShortestPathSolver.Rows() {
+            @Override
+            public int load(int row) {
+                costs.readRow(row, line);
+                return 0;
+            }
+
+            @Override
+            public long[] data() {
+                return line;
+            }
+        };
+        ws.reset(n, m);
+        for (int row = 1; row <= n; row++) {
+            LongShortestPathSolver.augment(rows, maximize, ws, row);
+        }
+        if (metrics != null) {
+            time = metrics.lap(SolverMetrics.Phase.AUGMENT, time);
+            metrics.augmentations = n;
+        }
+        int[] assignment = ShortestPathSolver.extract(ws);
+        if (metrics != null) {
+            metrics.lap(SolverMetrics.Phase.ASSIGN, time);
+            Instrumentation.finish(metrics);
+        }
+        return assignment;
+    }
+
+    /**
+     * Sum of the assigned cells.
+     * @param costs Cost matrix
+     * @param assignment Column per row, -1 for none
+     * @return Total
+     */
+    static long total(MappedCostMatrix costs, int[] assignment) {
+        long total = 0;
+        for (int row = 0; row < costs.rows; row++) {
+            if (assignment[row] >= 0)
+                total += costs.get(row, assignment[row]);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,208 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file format for cost matrices, so archived instances are mapped
+ * instead of re-parsed.
+ *
+ * Layout, all little-endian: a 32 byte header of magic "HAMX", version,
+ * element size in bytes (4 for int, 8 for long), rows and cols, followed
+ * by 12 reserved zero bytes; then the cells in row-major order.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class MatrixFile {
+
+    static final int MAGIC = 0x584D4148; // "HAMX" read little-endian
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    private static final int CHUNK = 1 << 16;
+    private static final long MAX_SEGMENT = Integer.MAX_VALUE;
+
+    private MatrixFile() {
+    }
+
+    /**
+     * Writes an int matrix.
+     * @param file File to create or overwrite
+     * @param matrix Matrix to store
+     * @throws IOException If the file cannot be written
+     */
+    static void write(Path file, CostMatrix matrix) throws IOException {
+        try (FileChannel channel = create(file)) {
+            ByteBuffer buffer = header(Integer.BYTES, matrix.rows, matrix.cols);
+            for (int i = 0; i < matrix.rows * matrix.cols; i++) {
+                if (buffer.remaining() < Integer.BYTES)
+                    flush(channel, buffer);
+                buffer.putInt(matrix.data[i]);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes a long matrix.
+     * @param file File to create or overwrite
+     * @param matrix Matrix to store
+     * @throws IOException If the file cannot be written
+     */
+    static void write(Path file, LongCostMatrix matrix) throws IOException {
+        try (FileChannel channel = create(file)) {
+            ByteBuffer buffer = header(Long.BYTES, matrix.rows, matrix.cols);
+            for (int i = 0; i < matrix.rows * matrix.cols; i++) {
+                if (buffer.remaining() < Long.BYTES)
+                    flush(channel, buffer);
+                buffer.putLong(matrix.data[i]);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Maps a matrix file read-only. The mapping stays valid after the
+     * channel is closed and is released when the matrix is collected.
+     * @param file File written by write()
+     * @return Matrix reading from the mapping
+     * @throws IOException If the file cannot be read or is not a matrix file
+     */
+    static MappedCostMatrix map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int[] header = readHeader(file, channel);
+            int elementBytes = header[0];
+            int rows = header[1];
+            int cols = header[2];
+            long rowBytes = (long) cols * elementBytes;
+            if (rowBytes > MAX_SEGMENT)
+                throw new IOException(file + ": rows of " + rowBytes + " bytes cannot be mapped");
+            int rowsPerSegment = rowBytes == 0 ? Math.max(rows, 1) : (int) Math.min(Math.max(rows, 1), MAX_SEGMENT / rowBytes);
+            int segments = rows == 0 ? 0 : (rows + rowsPerSegment - 1) / rowsPerSegment;
+            IntBuffer[] ints = elementBytes == Integer.BYTES ? new IntBuffer[segments] : null;
+            LongBuffer[] longs = elementBytes == Long.BYTES ? new LongBuffer[segments] : null;
+            for (int segment = 0; segment < segments; segment++) {
+                int from = segment * rowsPerSegment;
+                int count = Math.min(rowsPerSegment, rows - from);
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + from * rowBytes, count * rowBytes);
+                bytes.order(ByteOrder.LITTLE_ENDIAN);
+                if (ints != null)
+                    ints[segment] = bytes.asIntBuffer();
+                else
+                    longs[segment] = bytes.asLongBuffer();
+            }
+            return new MappedCostMatrix(rows, cols, rowsPerSegment, ints, longs);
+        }
+    }
+
+    /**
+     * Reads only the header, for callers that need the shape of a matrix
+     * but none of its cells.
+     * @param file File written by write()
+     * @return Rows and cols
+     * @throws IOException If the file cannot be read or is not a matrix file
+     */
+    static int[] shape(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int[] header = readHeader(file, channel);
+            return new int[]{header[1], header[2]};
+        }
+    }
+
+    /**
+     * Reads and checks the header, including that the file size matches it.
+     * @return Element size in bytes, rows and cols
+     */
+    private static int[] readHeader(Path file, FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0)
+                throw new IOException(file + ": truncated header");
+        }
+        header.flip();
+        if (header.getInt() != MAGIC)
+            throw new IOException(file + ": not a matrix file");
+        int version = header.getInt();
+        if (version != VERSION)
+            throw new IOException(file + ": unsupported version " + version);
+        int elementBytes = header.getInt();
+        int rows = header.getInt();
+        int cols = header.getInt();
+        if (elementBytes != Integer.BYTES && elementBytes != Long.BYTES || rows < 0 || cols < 0)
+            throw new IOException(file + ": corrupt header");
+        long rowBytes = (long) cols * elementBytes;
+        if (channel.size() != HEADER_BYTES + rows * rowBytes)
+            throw new IOException(file + ": expected " + (HEADER_BYTES + rows * rowBytes) + " bytes, found " + channel.size());
+        return new int[]{elementBytes, rows, cols};
+    }
+
+    /**
+     * Decodes an int matrix file held in memory, e.g. a request body.
+     * @param bytes File contents
+     * @return Matrix as a 2d-array
+     * @throws IOException If the bytes are not an int matrix file
+     */
+    static int[][] decode(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < HEADER_BYTES || buffer.getInt() != MAGIC)
+            throw new IOException("Not a matrix file");
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported version " + version);
+        int elementBytes = buffer.getInt();
+        int rows = buffer.getInt();
+        int cols = buffer.getInt();
+        if (elementBytes != Integer.BYTES)
+            throw new IOException("Expected " + Integer.BYTES + " byte elements, found " + elementBytes);
+        if (rows < 0 || cols < 0 || bytes.length != HEADER_BYTES + (long) rows * cols * elementBytes)
+            throw new IOException("Corrupt header or truncated matrix");
+        buffer.position(HEADER_BYTES);
+        IntBuffer cells = buffer.asIntBuffer();
+        int[][] matrix = new int[rows][cols];
+        for (int[] row : matrix) {
+            cells.get(row);
+        }
+        return matrix;
+    }
+
+    private static FileChannel create(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    private static ByteBuffer header(int elementBytes, int rows, int cols) {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(elementBytes).putInt(rows).putInt(cols);
+        buffer.position(HEADER_BYTES);
+        return buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Converts a CSV/TSV roster to a matrix file of its points.
+     * @param args Input roster and output file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: MatrixFile <roster.csv> <matrix.hamx>");
+            return;
+        }
+        Preferences preferences = new CsvPreferenceSource(Paths.get(args[0])).load();
+        write(Paths.get(args[1]), preferences.getPoints());
+        System.out.printf("Wrote %d x %d matrix\n", preferences.getPoints().rows, preferences.getPoints().cols);
+    }
+}
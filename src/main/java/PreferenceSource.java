@@ -0,0 +1,19 @@
+import java.io.IOException;
+
+/**
+ * Where the consultants and their division preference points come from,
+ * e.g. the Google Sheet (SheetsPreferenceSource) or a local CSV/TSV file
+ * (CsvPreferenceSource).
+ *
+ * @author Naren Yenuganti
+ */
+
+interface PreferenceSource {
+
+    /**
+     * Reads the whole roster.
+     * @return Names and points, one row per consultant.
+     * @throws IOException If the source cannot be read or is malformed.
+     */
+    Preferences load() throws IOException;
+}
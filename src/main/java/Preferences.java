@@ -0,0 +1,60 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A loaded roster: consultant names and their preference points, stored
+ * flat as a consultants x divisions CostMatrix.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class Preferences {
+
+    private final ArrayList<Object> names;
+    private final CostMatrix points;
+
+    /**
+     * @param names Name of each consultant.
+     * @param points Consultants x divisions points, one row per name.
+     */
+    Preferences(ArrayList<Object> names, CostMatrix points) {
+        if (names.size() != points.rows)
+            throw new IllegalArgumentException(names.size() + " names for " + points.rows + " rows of points");
+        this.names = names;
+        this.points = points;
+    }
+
+    /**
+     * @return Name of each consultant.
+     */
+    ArrayList<Object> getNames() {
+        return names;
+    }
+
+    /**
+     * @return Consultants x divisions points.
+     */
+    CostMatrix getPoints() {
+        return points;
+    }
+
+    /**
+     * @return Points as divisions x consultants, the layout Assignment takes.
+     */
+    int[][] divisionMatrix() {
+        return RowKernels.transpose(points);
+    }
+
+    /**
+     * @return Each consultant's name mapped to their points.
+     */
+    HashMap<Object, int[]> namesToPoints() {
+        HashMap<Object, int[]> result = new HashMap<>();
+        for (int row = 0; row < points.rows; row++) {
+            int[] values = new int[points.cols];
+            System.arraycopy(points.data, row * points.cols, values, 0, points.cols);
+            result.put(names.get(row), values);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,233 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shrinks an assignment instance before solving it and stitches the parts
+ * back into an optimal assignment of the whole matrix.
+ *
+ * Costs are first shifted per row so each row's worst cell is 0, which
+ * leaves the optimal assignment unchanged since every row is assigned
+ * exactly once. A cell better than its row's worst is a preference edge.
+ * Then:
+ * - Dominance: a row only keeps its n best edges. In any assignment some
+ *   column among them is free for it, so an optimal assignment uses no
+ *   other edge. Columns left without edges are pruned.
+ * - Components: the remaining edges split rows and columns into groups
+ *   that share no edge. Each group's best matching is independent of the
+ *   others, so the groups are solved separately and in parallel.
+ * - Forced pairs: a group with a single row or a single column needs no
+ *   solver, its best edge is taken directly.
+ * Rows that end up without a column take any leftover column, which costs
+ * nothing after the shift. The stitched total therefore equals the optimum
+ * of the full matrix.
+ *
+ * @author Naren Yenuganti
+ */
+
+class ProblemReducer {
+
+    private final CostMatrix costs;
+    private final long sign;
+    private final int n;
+    private final int m;
+    private final long[] worst;
+    private int forcedPairs;
+    private int emptyRows;
+    private int prunedColumns;
+    private int components;
+    private int largestRows;
+    private int largestCols;
+
+    /**
+     * @param matrix n x m matrix with n <= m.
+     * @param maximize True to maximize the total instead of minimizing it.
+     */
+    ProblemReducer(int[][] matrix, boolean maximize) {
+        costs = CostMatrix.of(matrix);
+        sign = maximize ? 1 : -1;
+        n = costs.rows;
+        m = costs.cols;
+        if (n > m)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        worst = new long[n];
+    }
+
+    /**
+     * Gain of a cell over its row's worst cell, never negative.
+     */
+    private long gain(int row, int col) {
+        return sign * costs.data[row * m + col] - worst[row];
+    }
+
+    /**
+     * Reduces, solves the parts and stitches them together.
+     *
+     * @return Column assigned to each row.
+     */
+    int[] solve() {
+        forcedPairs = 0;
+        emptyRows = 0;
+        prunedColumns = 0;
+        components = 0;
+        largestRows = 0;
+        largestCols = 0;
+        int[] parent = new int[n + m];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        boolean[] hasEdge = new boolean[n];
+        boolean[] linked = new boolean[m];
+        LongHeap best = new LongHeap();
+        for (int row = 0; row < n; row++) {
+            long min = Long.MAX_VALUE;
+            for (int col = 0; col < m; col++) {
+                min = Math.min(min, sign * costs.data[row * m + col]);
+            }
+            worst[row] = min;
+            best.clear();
+            for (int col = 0; col < m; col++) {
+                long gain = gain(row, col);
+                if (gain > 0 && (best.size() < n || gain > best.topKey())) {
+                    if (best.size() == n)
+                        best.pop();
+                    best.push(gain, col);
+                }
+            }
+            hasEdge[row] = !best.isEmpty();
+            while (!best.isEmpty()) {
+                int col = best.topValue();
+                best.pop();
+                linked[col] = true;
+                union(parent, row, n + col);
+            }
+        }
+        List<List<Integer>> groupRows = new ArrayList<>();
+        List<List<Integer>> groupCols = new ArrayList<>();
+        int[] group = new int[n + m];
+        Arrays.fill(group, -1);
+        int[] assignment = new int[n];
+        Arrays.fill(assignment, -1);
+        for (int row = 0; row < n; row++) {
+            if (!hasEdge[row]) {
+                emptyRows++;
+                continue;
+            }
+            int root = find(parent, row);
+            if (group[root] < 0) {
+                group[root] = groupRows.size();
+                groupRows.add(new ArrayList<>());
+                groupCols.add(new ArrayList<>());
+            }
+            groupRows.get(group[root]).add(row);
+        }
+        for (int col = 0; col < m; col++) {
+            if (linked[col])
+                groupCols.get(group[find(parent, n + col)]).add(col);
+            else
+                prunedColumns++;
+        }
+        List<Integer> solved = new ArrayList<>();
+        for (int g = 0; g < groupRows.size(); g++) {
+            List<Integer> rows = groupRows.get(g);
+            List<Integer> cols = groupCols.get(g);
+            if (rows.size() == 1 || cols.size() == 1) {
+                forcedPairs++;
+                force(rows, cols, assignment);
+            } else {
+                solved.add(g);
+                components++;
+                if (rows.size() * (long) cols.size() > largestRows * (long) largestCols) {
+                    largestRows = rows.size();
+                    largestCols = cols.size();
+                }
+            }
+        }
+        solved.parallelStream().forEach(g -> solveGroup(groupRows.get(g), groupCols.get(g), assignment));
+        boolean[] used = new boolean[m];
+        for (int col : assignment) {
+            if (col >= 0)
+                used[col] = true;
+        }
+        int free = 0;
+        for (int row = 0; row < n; row++) {
+            if (assignment[row] < 0) {
+                while (used[free]) {
+                    free++;
+                }
+                assignment[row] = free++;
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * A group with one row or one column: its single best edge is optimal.
+     */
+    private void force(List<Integer> rows, List<Integer> cols, int[] assignment) {
+        int bestRow = -1;
+        int bestCol = -1;
+        for (int row : rows) {
+            for (int col : cols) {
+                if (bestRow < 0 || gain(row, col) > gain(bestRow, bestCol)) {
+                    bestRow = row;
+                    bestCol = col;
+                }
+            }
+        }
+        assignment[bestRow] = bestCol;
+    }
+
+    /**
+     * Best matching of one group: its rows against its columns plus one
+     * zero-gain column per row for rows that stay unmatched.
+     */
+    private void solveGroup(List<Integer> rows, List<Integer> cols, int[] assignment) {
+        int r = rows.size();
+        int c = cols.size();
+        LongCostMatrix gains = new LongCostMatrix(r, c + r);
+        for (int i = 0; i < r; i++) {
+            for (int j = 0; j < c; j++) {
+                gains.set(i, j, gain(rows.get(i), cols.get(j)));
+            }
+        }
+        int[] result = LongShortestPathSolver.solve(gains, true, new SolverWorkspace());
+        for (int i = 0; i < r; i++) {
+            if (result[i] < c)
+                assignment[rows.get(i)] = cols.get(result[i]);
+        }
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+
+    /**
+     * @param assignment Column per row
+     * @return Sum of the assigned cells
+     */
+    long getTotal(int[] assignment) {
+        long total = 0;
+        for (int row = 0; row < n; row++) {
+            total += costs.get(row, assignment[row]);
+        }
+        return total;
+    }
+
+    /**
+     * @return How far the last solve shrank the instance.
+     */
+    String getReport() {
+        return String.format("Reduced %dx%d: %d forced pairs, %d rows without preferences, %d columns pruned, "
+                        + "%d components solved, largest %dx%d",
+                n, m, forcedPairs, emptyRows, prunedColumns, components, largestRows, largestCols);
+    }
+}
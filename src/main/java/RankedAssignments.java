@@ -0,0 +1,337 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Enumerates complete assignments from best to worst with Murty's
+ * partitioning: the 1st, 2nd, ..., k-th best come out one per next() call.
+ *
+ * Every solution spawns one subproblem per unfixed row i: rows before i
+ * keep their columns, row i loses its column. A subproblem is queued
+ * lazily with a lower bound from its parent's potentials (parent total
+ * plus the cheapest reduced costs left to row i and to its old column). It is only solved when it
+ * reaches the head of the queue, and then warm-started from the parent:
+ * the parent's potentials stay feasible, so one shortest augmenting path
+ * for row i gives its optimum. Subproblems whose bound is never reached
+ * are never solved. Rectangular matrices are padded with zero cost rows
+ * to a square, so every subproblem ends its path in the freed column.
+ *
+ * @author Naren Yenuganti
+ */
+
+class RankedAssignments implements Iterator<AssignmentResult> {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+    private final CostMatrix costs;
+    private final long sign;
+    private final int n;
+    private final int cols;
+    private final int m;
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>((a, b) -> a.key != b.key
+            ? Long.compare(a.key, b.key) : Boolean.compare(a.solved == null, b.solved == null));
+    private final long[] minv;
+    private final int[] way;
+    private final boolean[] used;
+    private final boolean[] blocked;
+    private final boolean[] banned;
+    private final boolean[] bannedRows;
+    private Node pending;
+
+    /**
+     * Solves the problem once; every later solution is found lazily.
+     * @param matrix n x m matrix with n <= m.
+     * @param maximize True to rank by largest total first.
+     */
+    RankedAssignments(int[][] matrix, boolean maximize) {
+        costs = CostMatrix.of(matrix);
+        sign = maximize ? -1 : 1;
+        n = costs.rows;
+        cols = costs.cols;
+        m = cols;
+        if (n > m)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        minv = new long[m + 1];
+        way = new int[m + 1];
+        used = new boolean[m + 1];
+        blocked = new boolean[m + 1];
+        banned = new boolean[m + 1];
+        bannedRows = new boolean[m + 1];
+        SolverWorkspace ws = new SolverWorkspace();
+        ShortestPathSolver.solve(costs, maximize, ws);
+        // Free columns still have v = 0, so zero cost padding rows with
+        // u = 0 sitting on them keep every reduced cost non-negative.
+        int[] p = Arrays.copyOf(ws.p, m + 1);
+        int pad = n;
+        for (int col = 1; col <= m; col++) {
+            if (p[col] == 0)
+                p[col] = ++pad;
+        }
+        Node root = new Node(Arrays.copyOf(ws.u, m + 1), Arrays.copyOf(ws.v, m + 1),
+                p, new boolean[m + 1], null);
+        root.cost = cost(root);
+        pending = root;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending != null)
+            return true;
+        while (!queue.isEmpty()) {
+            Entry entry = queue.poll();
+            if (entry.solved != null) {
+                pending = entry.solved;
+                return true;
+            }
+            Node child = solve(entry);
+            if (child != null) {
+                entry.solved = child;
+                entry.key = child.cost;
+                queue.add(entry);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The next best assignment and its total in the original units.
+     */
+    @Override
+    public AssignmentResult next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Node node = pending;
+        pending = null;
+        branch(node);
+        int[] assignment = new int[n];
+        for (int col = 1; col <= m; col++) {
+            if (node.p[col] <= n)
+                assignment[node.p[col] - 1] = col - 1;
+        }
+        return new AssignmentResult(assignment, sign * node.cost);
+    }
+
+    /**
+     * @param k Number of solutions wanted.
+     * @return Up to k best assignments, best first.
+     */
+    List<AssignmentResult> next(int k) {
+        List<AssignmentResult> result = new ArrayList<>(k);
+        while (result.size() < k && hasNext()) {
+            result.add(next());
+        }
+        return result;
+    }
+
+    /**
+     * Queues one subproblem per unfixed row of a solution. Its key is a lower
+     * bound from the parent's potentials: the row needs another column and
+     * its old column needs another row, two distinct cells whose reduced
+     * costs add to the parent total.
+     */
+    private void branch(Node node) {
+        int[] colOf = new int[m + 1];
+        for (int col = 1; col <= m; col++) {
+            colOf[node.p[col]] = col;
+            if (node.locked[node.p[col]])
+                blocked[col] = true;
+        }
+        for (int row = 1; row <= n; row++) {
+            if (node.locked[row])
+                continue;
+            int col = colOf[row];
+            blocked[col] = true;
+            ban(node.forbidden, row, true);
+            long rowBound = INF;
+            for (int other = 1; other <= m; other++) {
+                if (!blocked[other] && !banned[other])
+                    rowBound = Math.min(rowBound, reduced(node, row, other));
+            }
+            ban(node.forbidden, row, false);
+            for (Forbidden f = node.forbidden; f != null; f = f.next) {
+                if (f.col + 1 == col)
+                    bannedRows[f.row] = true;
+            }
+            long colBound = INF;
+            for (int other = row + 1; other <= m; other++) {
+                if (!node.locked[other] && !bannedRows[other])
+                    colBound = Math.min(colBound, reduced(node, other, col));
+            }
+            for (Forbidden f = node.forbidden; f != null; f = f.next) {
+                bannedRows[f.row] = false;
+            }
+            if (rowBound < INF && colBound < INF)
+                queue.add(new Entry(node, row, node.cost + rowBound + colBound));
+        }
+        Arrays.fill(blocked, false);
+    }
+
+    /**
+     * Marks or clears the forbidden cells of one row in banned.
+     */
+    private void ban(Forbidden forbidden, int row, boolean value) {
+        for (Forbidden f = forbidden; f != null; f = f.next) {
+            if (f.row == row)
+                banned[f.col + 1] = value;
+        }
+    }
+
+    private long reduced(Node node, int row, int col) {
+        return cell(row, col) - node.u[row] - node.v[col];
+    }
+
+    /**
+     * Cost of a 1-based cell of the square problem, 0 on padding rows.
+     */
+    private long cell(int row, int col) {
+        return row > n ? 0 : sign * costs.data[(row - 1) * cols + col - 1];
+    }
+
+    /**
+     * Builds the subproblem of an entry from its parent and re-augments the
+     * row that lost its column.
+     * @return The solved subproblem, or null if it has no assignment.
+     */
+    private Node solve(Entry entry) {
+        Node parent = entry.parent;
+        boolean[] locked = parent.locked.clone();
+        for (int row = 1; row < entry.row; row++) {
+            locked[row] = true;
+        }
+        int[] p = parent.p.clone();
+        int col = 1;
+        while (p[col] != entry.row) {
+            col++;
+        }
+        p[col] = 0;
+        Node child = new Node(parent.u.clone(), parent.v.clone(), p, locked,
+                new Forbidden(entry.row, col - 1, parent.forbidden));
+        if (!augment(child, entry.row))
+            return null;
+        child.cost = cost(child);
+        return child;
+    }
+
+    private long cost(Node node) {
+        long total = 0;
+        for (int col = 1; col <= m; col++) {
+            if (node.p[col] <= n)
+                total += cell(node.p[col], col);
+        }
+        return total;
+    }
+
+    /**
+     * ShortestPathSolver.augment restricted to the subproblem: columns of
+     * locked rows are never entered and forbidden cells are skipped. The
+     * problem is square, so the path always ends in the freed column.
+     * @return false if the row cannot be matched
+     */
+    private boolean augment(Node node, int row) {
+        long[] u = node.u;
+        long[] v = node.v;
+        int[] p = node.p;
+        Arrays.fill(minv, INF);
+        Arrays.fill(used, false);
+        for (int col = 1; col <= m; col++) {
+            if (p[col] != 0 && node.locked[p[col]])
+                used[col] = true;
+        }
+        p[0] = row;
+        int col0 = 0;
+        do {
+            used[col0] = true;
+            int row0 = p[col0];
+            ban(node.forbidden, row0, true);
+            long u0 = u[row0];
+            long delta = INF;
+            int col1 = 0;
+            for (int col = 1; col <= m; col++) {
+                if (!used[col]) {
+                    if (!banned[col]) {
+                        long cur = cell(row0, col) - u0 - v[col];
+                        if (cur < minv[col]) {
+                            minv[col] = cur;
+                            way[col] = col0;
+                        }
+                    }
+                    if (minv[col] < delta) {
+                        delta = minv[col];
+                        col1 = col;
+                    }
+                }
+            }
+            ban(node.forbidden, row0, false);
+            if (col1 == 0)
+                return false;
+            for (int col = 0; col <= m; col++) {
+                if (used[col]) {
+                    if (!node.locked[p[col]]) {
+                        u[p[col]] += delta;
+                        v[col] -= delta;
+                    }
+                } else if (minv[col] < INF) {
+                    minv[col] -= delta;
+                }
+            }
+            col0 = col1;
+        } while (p[col0] != 0);
+        ShortestPathSolver.flip(p, way, col0);
+        return true;
+    }
+
+    /**
+     * A solution or solved subproblem: potentials, matching and constraints.
+     * Arrays are 1-based as in SolverWorkspace.
+     */
+    private static final class Node {
+        final long[] u;
+        final long[] v;
+        final int[] p;
+        final boolean[] locked;
+        final Forbidden forbidden;
+        long cost;
+
+        Node(long[] u, long[] v, int[] p, boolean[] locked, Forbidden forbidden) {
+            this.u = u;
+            this.v = v;
+            this.p = p;
+            this.locked = locked;
+            this.forbidden = forbidden;
+        }
+    }
+
+    /**
+     * Forbidden cells, shared as a linked list between a node and its children.
+     */
+    private static final class Forbidden {
+        final int row;
+        final int col;
+        final Forbidden next;
+
+        Forbidden(int row, int col, Forbidden next) {
+            this.row = row;
+            this.col = col;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Queued subproblem: the parent and the row that loses its column.
+     * Rows of the parent before it keep theirs. Solved lazily.
+     */
+    private static final class Entry {
+        final Node parent;
+        final int row;
+        long key;
+        Node solved;
+
+        Entry(Node parent, int row, long key) {
+            this.parent = parent;
+            this.row = row;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Inner loops of the Munkres steps over one contiguous row at a time.
+ *
+ * Every kernel is a plain counted loop over int arrays without branches in
+ * its body, the shape HotSpot's superword pass turns into SIMD code. The
+ * JIT picks the widest instructions the CPU supports when it compiles the
+ * loop and runs it as scalar code where it cannot, so no dispatch is
+ * needed here. Masks are -1 for a covered line and 0 otherwise, which
+ * turns the covered / uncovered cases of step five into bitwise ands.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class RowKernels {
+
+    /**
+     * Side of the square tiles of the transpose. A 32 x 32 int tile is
+     * 4 KiB, so the source and target tiles stay in the L1 data cache.
+     */
+    private static final int BLOCK = 32;
+
+    private RowKernels() {
+    }
+
+    /**
+     * @param row Row of the matrix
+     * @param length Number of cells to scan, at least 1
+     * @return Smallest of the first length cells
+     */
+    static int min(int[] row, int length) {
+        int min = row[0];
+        for (int col = 1; col < length; col++) {
+            min = Math.min(min, row[col]);
+        }
+        return min;
+    }
+
+    /**
+     * Subtracts a value from the first length cells.
+     */
+    static void subtract(int[] row, int length, int value) {
+        for (int col = 0; col < length; col++) {
+            row[col] -= value;
+        }
+    }
+
+    /**
+     * Folds a row into running column minima: mins[col] = min(mins[col], row[col]).
+     * Scanning the matrix row by row this way replaces the column-major walk.
+     */
+    static void minInto(int[] mins, int[] row, int length) {
+        for (int col = 0; col < length; col++) {
+            mins[col] = Math.min(mins[col], row[col]);
+        }
+    }
+
+    /**
+     * Subtracts values[col] from row[col] for the first length cells.
+     */
+    static void subtract(int[] row, int[] values, int length) {
+        for (int col = 0; col < length; col++) {
+            row[col] -= values[col];
+        }
+    }
+
+    /**
+     * Smallest cell in a column that is not covered. Cells must not be
+     * negative: a covered cell is or-ed with Integer.MAX_VALUE and so never
+     * wins.
+     *
+     * @param row Row of the matrix
+     * @param mask Column mask, -1 for a covered column
+     * @param length Number of cells to scan
+     * @param min Minimum found so far
+     * @return Smaller of min and the uncovered cells
+     */
+    static int minUncovered(int[] row, int[] mask, int length, int min) {
+        for (int col = 0; col < length; col++) {
+            min = Math.min(min, row[col] | (mask[col] >>> 1));
+        }
+        return min;
+    }
+
+    /**
+     * Adds a value to the cells in covered columns.
+     */
+    static void addCovered(int[] row, int[] mask, int length, int value) {
+        for (int col = 0; col < length; col++) {
+            row[col] += mask[col] & value;
+        }
+    }
+
+    /**
+     * Subtracts a value from the cells in uncovered columns.
+     */
+    static void subtractUncovered(int[] row, int[] mask, int length, int value) {
+        for (int col = 0; col < length; col++) {
+            row[col] -= ~mask[col] & value;
+        }
+    }
+
+    /**
+     * Transposes tile by tile, so the column-wise writes of one tile stay
+     * in cache instead of missing on every cell.
+     *
+     * @param matrix Rectangular 2d-array
+     * @return Transposed copy
+     */
+    static int[][] transpose(int[][] matrix) {
+        int rows = matrix.length;
+        int cols = rows == 0 ? 0 : matrix[0].length;
+        int[][] result = new int[cols][rows];
+        for (int colBlock = 0; colBlock < cols; colBlock += BLOCK) {
+            int colEnd = Math.min(colBlock + BLOCK, cols);
+            for (int rowBlock = 0; rowBlock < rows; rowBlock += BLOCK) {
+                int rowEnd = Math.min(rowBlock + BLOCK, rows);
+                for (int row = rowBlock; row < rowEnd; row++) {
+                    int[] source = matrix[row];
+                    for (int col = colBlock; col < colEnd; col++) {
+                        result[col][row] = source[col];
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Transposes a flat matrix into a 2d-array, tile by tile.
+     *
+     * @param matrix Flat row-major matrix
+     * @return Transposed copy, matrix.cols x matrix.rows
+     */
+    static int[][] transpose(CostMatrix matrix) {
+        int rows = matrix.rows;
+        int cols = matrix.cols;
+        int[][] result = new int[cols][rows];
+        for (int colBlock = 0; colBlock < cols; colBlock += BLOCK) {
+            int colEnd = Math.min(colBlock + BLOCK, cols);
+            for (int rowBlock = 0; rowBlock < rows; rowBlock += BLOCK) {
+                int rowEnd = Math.min(rowBlock + BLOCK, rows);
+                for (int row = rowBlock; row < rowEnd; row++) {
+                    int base = row * cols;
+                    for (int col = colBlock; col < colEnd; col++) {
+                        result[col][row] = matrix.data[base + col];
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
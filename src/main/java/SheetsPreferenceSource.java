@@ -0,0 +1,123 @@
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.extensions.java6.auth.oauth2.AuthorizationCodeInstalledApp;
+import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
+import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
+import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
+import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.util.store.FileDataStoreFactory;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.SheetsScopes;
+import com.google.api.services.sheets.v4.model.ValueRange;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the roster from a Google Sheet through the Sheets API.
+ * Each row of the range is a name followed by one point value per division.
+ * Needs OAuth, see getCredentials().
+ *
+ * @author Naren Yenuganti
+ */
+
+class SheetsPreferenceSource implements PreferenceSource {
+    private static final String APPLICATION_NAME = "Google Sheets API Java Quickstart";
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private static final String TOKENS_DIRECTORY_PATH = "tokens";
+    /**
+     * Global instance of the scopes required by this quickstart.
+     * If modifying these scopes, delete your previously saved tokens/ folder.
+     */
+    private static final List<String> SCOPES = Collections.singletonList(SheetsScopes.SPREADSHEETS_READONLY);
+    private static final String CREDENTIALS_FILE_PATH = "/credentials.json";
+    private final String spreadsheetId;
+    private final String range;
+
+    /**
+     * @param spreadsheetId Portion of spreadsheet URL after d/ and before /edit
+     * @param range "TabName!TopLeftCorner:BottomRightCorner"
+     */
+    SheetsPreferenceSource(String spreadsheetId, String range) {
+        this.spreadsheetId = spreadsheetId;
+        this.range = range;
+    }
+
+    /**
+     * Creates an authorized Credential object.
+     *
+     * @param HTTP_TRANSPORT The network HTTP Transport.
+     * @return An authorized Credential object.
+     * @throws IOException If the credentials.json file cannot be found.
+     */
+    private static Credential getCredentials(final NetHttpTransport HTTP_TRANSPORT) throws IOException {
+        InputStream in = SheetsPreferenceSource.class.getResourceAsStream(CREDENTIALS_FILE_PATH);
+        if (in == null) {
+            throw new FileNotFoundException("Resource not found: " + CREDENTIALS_FILE_PATH);
+        }
+        GoogleClientSecrets clientSecrets = GoogleClientSecrets.load(JSON_FACTORY, new InputStreamReader(in));
+        GoogleAuthorizationCodeFlow flow = new GoogleAuthorizationCodeFlow.Builder(
+                HTTP_TRANSPORT, JSON_FACTORY, clientSecrets, SCOPES)
+                .setDataStoreFactory(new FileDataStoreFactory(new java.io.File(TOKENS_DIRECTORY_PATH)))
+                .setAccessType("offline")
+                .build();
+        LocalServerReceiver receiver = new LocalServerReceiver.Builder().setPort(8888).build();
+        return new AuthorizationCodeInstalledApp(flow, receiver).authorize("user");
+    }
+
+    @Override
+    public Preferences load() throws IOException {
+        NetHttpTransport HTTP_TRANSPORT;
+        try {
+            HTTP_TRANSPORT = GoogleNetHttpTransport.newTrustedTransport();
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Cannot create HTTP transport", e);
+        }
+        Sheets service = new Sheets.Builder(HTTP_TRANSPORT, JSON_FACTORY, getCredentials(HTTP_TRANSPORT))
+                .setApplicationName(APPLICATION_NAME)
+                .build();
+        ValueRange response = service.spreadsheets().values()
+                .get(spreadsheetId, range)
+                .execute();
+        List<List<Object>> values = response.getValues();
+        ArrayList<Object> names = new ArrayList<>();
+        if (values == null || values.isEmpty())
+            return new Preferences(names, new CostMatrix(0, 0));
+        //test(values);
+        int divisions = values.get(0).size() - 1;
+        CostMatrix points = new CostMatrix(values.size(), divisions);
+        int counter = 0;
+        for (List row : values) {
+            if (row.size() != divisions + 1)
+                throw new IOException("Row " + (counter + 1) + " has " + (row.size() - 1) + " points, expected " + divisions);
+            names.add(row.get(0));
+            for (int col = 0; col < divisions; col++) {
+                points.set(counter, col, Integer.parseInt(((String) row.get(col + 1)).trim()));
+            }
+            counter++;
+        }
+        return new Preferences(names, points);
+    }
+
+    /**
+     * To test the pulling of spreadsheet data.
+     * Will print name and division preference points.
+     * Order: "Corporate", "Marketing", "Startup", "Finance", "Pro Bono"
+     *
+     * @param values values
+     */
+    private static void test(List<List<Object>> values) {
+        System.out.println("Name, Preference Points");
+        for (List row : values) {
+            System.out.printf("%s: %s, %s, %s, %s, %s\n", row.get(0), row.get(1), row.get(2), row.get(3), row.get(4), row.get(5));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Shortest augmenting path engine for the rectangular assignment problem.
+ * Keeps dual potentials for rows and columns and grows the matching one
+ * row at a time along a Dijkstra-style shortest path (Kuhn-Munkres with
+ * potentials, as in Jonker-Volgenant). Runs in O(n^2 * m) for an n x m
+ * matrix with n <= m and uses no recursion.
+ * Costs are read from a flat CostMatrix and all scratch state lives in a
+ * SolverWorkspace, so a warmed up workspace makes repeated solves
+ * allocation free.
+ *
+ * @author Naren Yenuganti
+ */
+
+class ShortestPathSolver {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+    private final CostMatrix costs;
+    private final boolean maximize;
+    private final SolverWorkspace workspace;
+
+    /**
+     * @param costs n x m matrix with n <= m. Every row gets a unique column.
+     * @param maximize True to maximize the total instead of minimizing it.
+     */
+    ShortestPathSolver(int[][] costs, boolean maximize) {
+        this(CostMatrix.of(costs), maximize, new SolverWorkspace());
+    }
+
+    /**
+     * @param costs n x m matrix with n <= m. Every row gets a unique column.
+     * @param maximize True to maximize the total instead of minimizing it.
+     * @param workspace Scratch arrays, reused across solves.
+     */
+    ShortestPathSolver(CostMatrix costs, boolean maximize, SolverWorkspace workspace) {
+        this.costs = costs;
+        this.maximize = maximize;
+        this.workspace = workspace;
+    }
+
+    /**
+     * Solves the problem.
+     *
+     * @return Column assigned to each row. The array belongs to the workspace
+     * and is overwritten by its next solve.
+     */
+    int[] solve() {
+        return solve(costs, maximize, workspace);
+    }
+
+    /**
+     * Solves the problem without allocating once the workspace is large enough.
+     *
+     * @param costs n x m matrix with n <= m
+     * @param maximize True to maximize the total instead of minimizing it
+     * @param ws Scratch arrays
+     * @return Column assigned to each row, owned by ws
+     */
+    static int[] solve(CostMatrix costs, boolean maximize, SolverWorkspace ws) {
+        int n = costs.rows;
+        int m = costs.cols;
+        if (n > m) {
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        }
+        SolverMetrics metrics = Instrumentation.start("shortestPath", n, m);
+        long time = metrics == null ? 0 : metrics.start();
+        ws.reset(n, m);
+        if (metrics != null)
+            time = metrics.lap(SolverMetrics.Phase.PREPARE, time);
+        for (int row = 1; row <= n; row++) {
+            augment(costs, maximize, ws, row);
+        }
+        if (metrics != null) {
+            time = metrics.lap(SolverMetrics.Phase.AUGMENT, time);
+            metrics.augmentations = n;
+        }
+        int[] assignment = extract(ws);
+        if (metrics != null) {
+            metrics.lap(SolverMetrics.Phase.ASSIGN, time);
+            Instrumentation.finish(metrics);
+        }
+        return assignment;
+    }
+
+    /**
+     * Copies the matching in ws.p into ws.assignment.
+     *
+     * @param ws Workspace holding a matching
+     * @return ws.assignment, column per row or -1 if the row is unmatched
+     */
+    static int[] extract(SolverWorkspace ws) {
+        int[] assignment = ws.assignment;
+        for (int row = 0; row < ws.n; row++) {
+            assignment[row] = -1;
+        }
+        for (int col = 1; col <= ws.m; col++) {
+            if (ws.p[col] != 0)
+                assignment[ws.p[col] - 1] = col - 1;
+        }
+        return assignment;
+    }
+
+    /**
+     * Adds one unmatched row to the matching along a shortest augmenting
+     * path, updating the potentials so every reduced cost stays non-negative.
+     * Index 0 is the virtual column the new row starts from. On ties a free
+     * column is preferred, which ends the search early on flat matrices.
+     *
+     * @param costs Cost matrix
+     * @param maximize True if costs are negated on read
+     * @param ws Workspace with feasible potentials
+     * @param row 1-based row index
+     */
+    static void augment(CostMatrix costs, boolean maximize, SolverWorkspace ws, int row) {
+        int m = ws.m;
+        int cols = costs.cols;
+        int[] data = costs.data;
+        long sign = maximize ? -1 : 1;
+        long[] u = ws.u;
+        long[] v = ws.v;
+        long[] minv = ws.minv;
+        int[] p = ws.p;
+        int[] way = ws.way;
+        boolean[] used = ws.used;
+        begin(ws, row, INF);
+        int col0 = 0;
+        do {
+            used[col0] = true;
+            int row0 = p[col0];
+            int base = (row0 - 1) * cols - 1;
+            long u0 = u[row0];
+            long delta = INF;
+            int col1 = 0;
+            for (int col = 1; col <= m; col++) {
+                if (!used[col]) {
+                    long cur = sign * data[base + col] - u0 - v[col];
+                    if (cur < minv[col]) {
+                        minv[col] = cur;
+                        way[col] = col0;
+                    }
+                    if (minv[col] < delta || minv[col] == delta && p[col] == 0 && p[col1] != 0) {
+                        delta = minv[col];
+                        col1 = col;
+                    }
+                }
+            }
+            shift(ws, delta);
+            col0 = col1;
+        } while (p[col0] != 0);
+        flip(p, way, col0);
+    }
+
+    /**
+     * Starts a path for row at the virtual column 0 with every column
+     * unreached.
+     *
+     * @param inf Slack of an unreached column
+     */
+    static void begin(SolverWorkspace ws, int row, long inf) {
+        ws.p[0] = row;
+        for (int col = 0; col <= ws.m; col++) {
+            ws.minv[col] = inf;
+            ws.used[col] = false;
+        }
+    }
+
+    /**
+     * Applies one Dijkstra step: rows and columns reached so far move their
+     * potentials by delta, the slack of the other columns drops by delta.
+     */
+    static void shift(SolverWorkspace ws, long delta) {
+        long[] u = ws.u;
+        long[] v = ws.v;
+        long[] minv = ws.minv;
+        int[] p = ws.p;
+        boolean[] used = ws.used;
+        for (int col = 0; col <= ws.m; col++) {
+            if (used[col]) {
+                u[p[col]] += delta;
+                v[col] -= delta;
+            } else {
+                minv[col] -= delta;
+            }
+        }
+    }
+
+    /**
+     * Flips the matching along the path from the free column col0 back to
+     * the virtual column 0.
+     *
+     * @param p Row matched to each column, 1-based
+     * @param way Previous column on the path
+     */
+    static void flip(int[] p, int[] way, int col0) {
+        do {
+            int col1 = way[col0];
+            p[col0] = p[col1];
+            col0 = col1;
+        } while (col0 != 0);
+    }
+}
@@ -3,6 +3,7 @@ import java.util.Random;
 
 /**
  * Prints 5 sets of 5 numbers that add up to 100.
+ * An optional seed argument makes the output reproducible.
  */
 public class Shuffle {
     private int[][] array;
@@ -10,8 +11,11 @@ public class Shuffle {
     private ArrayList<Integer> row, col;
 
     private Shuffle(int size) {
+        this(size, new Random());
+    }
+    private Shuffle(int size, Random random) {
         array = new int[size][size];
-        random = new Random();
+        this.random = random;
         row = new ArrayList<>(size);
         col = new ArrayList<>(size);
     }
@@ -35,7 +39,7 @@ public class Shuffle {
         }
     }
     public static void main(String[] args) {
-        Shuffle s = new Shuffle(5);
+        Shuffle s = args.length > 0 ? new Shuffle(5, new Random(Long.parseLong(args[0]))) : new Shuffle(5);
         for(int i = 0; i < 100; i++) {
             s.doIteration();
         }
@@ -0,0 +1,451 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of optimal assignments keyed by a fingerprint of the cost matrix,
+ * so re-solving an identical roster costs one hash.
+ *
+ * The fingerprint is a SHA-256 of the matrix after subtracting each row's
+ * best value, together with the shape, the direction and the division
+ * names. Adding a constant to a row does not change the optimal
+ * assignment, so such rosters share an entry; the total is always taken
+ * from the matrix being solved.
+ *
+ * Entries hold the assignment and the column potentials. They live in an
+ * LRU map and, if a directory is given, in one file per fingerprint there,
+ * so they survive restarts. A matrix of the same shape and divisions that
+ * is not in the cache is warm-started from the last entry of that shape:
+ * its potentials are repaired to be feasible for the new costs, the pairs
+ * that stay tight are kept and only the other rows are augmented. The last
+ * entry per shape is kept in a second LRU map of the same capacity.
+ *
+ * Capacitated rosters are cached by their raw points and capacities and
+ * solved with CapacitatedSolver on a miss; only the divisions are stored.
+ *
+ * The on-disk store is an LRU too: a hit touches its file, and after every
+ * write the least recently used entry files, and likewise shape files,
+ * beyond the capacity are deleted.
+ *
+ * @author Naren Yenuganti
+ */
+
+class SolutionCache {
+
+    private static final int MAGIC = 0x48414D43;
+    private static final int VERSION = 1;
+    private final int capacity;
+    private final Path directory;
+    private final Map<String, CachedSolution> entries;
+    private final Map<String, CachedSolution> latest;
+    private final CostMatrix costs = new CostMatrix(0, 0);
+    private final SolverWorkspace workspace = new SolverWorkspace();
+    private int hits;
+    private int warmStarts;
+    private int misses;
+
+    /**
+     * @param capacity Entries kept in memory.
+     * @param directory Directory for the on-disk store, or null for memory only.
+     */
+    SolutionCache(int capacity, Path directory) throws IOException {
+        this.capacity = capacity;
+        this.directory = directory;
+        entries = lru();
+        latest = lru();
+        if (directory != null)
+            Files.createDirectories(directory);
+    }
+
+    /**
+     * @return Access ordered map that drops its eldest entry beyond the capacity.
+     */
+    private Map<String, CachedSolution> lru() {
+        return new LinkedHashMap<String, CachedSolution>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSolution> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached solution if there is one, else solves and caches.
+     *
+     * @param matrix n x m matrix with n <= m
+     * @param divisions Names of the divisions the matrix was built for
+     * @param maximize True to maximize the total instead of minimizing it
+     * @return Assignment and total
+     * @throws IOException If the on-disk store cannot be written
+     */
+    synchronized AssignmentResult solve(int[][] matrix, List<String> divisions, boolean maximize) throws IOException {
+        costs.copyFrom(matrix);
+        int n = costs.rows;
+        int m = costs.cols;
+        if (n > m)
+            throw new IllegalArgumentException("More rows than columns: " + n + " > " + m);
+        String shape = shape(n, m, divisions, maximize);
+        String key = fingerprint(shape, maximize);
+        CachedSolution entry = lookup(key, n, m, true);
+        if (entry != null) {
+            hits++;
+            return result(entry.assignment.clone());
+        }
+        CachedSolution seed = latest.get(shape);
+        if (seed == null)
+            seed = read(directory == null ? null : directory.resolve("shape-" + shape + ".bin"));
+        int[] assignment;
+        if (seed != null && fits(seed, n, m, true)) {
+            warmStarts++;
+            assignment = warmStart(seed, maximize);
+        } else {
+            misses++;
+            assignment = ShortestPathSolver.solve(costs, maximize, workspace);
+        }
+        // The workspace arrays may be longer than n after a larger solve.
+        assignment = Arrays.copyOf(assignment, n);
+        entry = new CachedSolution(assignment.clone(), Arrays.copyOf(workspace.v, m + 1));
+        entries.put(key, entry);
+        latest.put(shape, entry);
+        if (directory != null) {
+            write(directory.resolve(key + ".bin"), entry);
+            write(directory.resolve("shape-" + shape + ".bin"), entry);
+            trim(false);
+            trim(true);
+        }
+        return result(assignment.clone());
+    }
+
+    /**
+     * Returns the cached divisions if the roster was solved before with the
+     * same capacities, else solves it with CapacitatedSolver and caches the
+     * divisions. The points are hashed as they are: a consultant left
+     * without a division does not score its row, so rows are not
+     * normalized.
+     *
+     * @param points Consultant x division preference points
+     * @param capacities Maximum number of consultants for each division
+     * @param divisions Names of the divisions
+     * @return Division of each consultant, -1 for none, and the total points
+     * @throws IOException If the on-disk store cannot be written
+     */
+    synchronized AssignmentResult solveCapacitated(int[][] points, int[] capacities, List<String> divisions) throws IOException {
+        int n = points.length;
+        int k = capacities.length;
+        MessageDigest digest = sha256();
+        digest.update(("capacitated " + n + "x" + k + " " + Arrays.toString(capacities)).getBytes(StandardCharsets.UTF_8));
+        for (String division : divisions) {
+            digest.update((byte) 0);
+            digest.update(division.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] bytes = new byte[k * Integer.BYTES];
+        for (int[] row : points) {
+            if (row.length != k)
+                throw new IllegalArgumentException("Row has " + row.length + " divisions, expected " + k);
+            for (int div = 0; div < k; div++) {
+                for (int shift = 0; shift < Integer.BYTES; shift++) {
+                    bytes[div * Integer.BYTES + shift] = (byte) (row[div] >>> (24 - 8 * shift));
+                }
+            }
+            digest.update(bytes);
+        }
+        String key = hex(digest.digest());
+        CachedSolution entry = lookup(key, n, k, false);
+        int[] assignment;
+        if (entry != null) {
+            hits++;
+            assignment = entry.assignment.clone();
+        } else {
+            misses++;
+            assignment = new CapacitatedSolver(points, capacities).solve();
+            entry = new CachedSolution(assignment.clone(), new long[0]);
+            entries.put(key, entry);
+            if (directory != null) {
+                write(directory.resolve(key + ".bin"), entry);
+                trim(false);
+            }
+        }
+        long total = 0;
+        for (int row = 0; row < n; row++) {
+            if (assignment[row] >= 0)
+                total += points[row][assignment[row]];
+        }
+        return new AssignmentResult(assignment, total);
+    }
+
+    /**
+     * Seeds the workspace from a cached solution and augments the rows it
+     * does not settle. Free columns need v = 0 for the shortest path step to
+     * stay exact, so they are reset and the rows recomputed until stable.
+     */
+    private int[] warmStart(CachedSolution seed, boolean maximize) {
+        int n = costs.rows;
+        int m = costs.cols;
+        long sign = maximize ? -1 : 1;
+        workspace.reset(n, m);
+        long[] u = workspace.u;
+        long[] v = workspace.v;
+        int[] p = workspace.p;
+        System.arraycopy(seed.v, 0, v, 0, m + 1);
+        for (int row = 0; row < n; row++) {
+            p[seed.assignment[row] + 1] = row + 1;
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int col = 1; col <= m; col++) {
+                if (p[col] == 0 && v[col] != 0) {
+                    v[col] = 0;
+                    changed = true;
+                }
+            }
+            for (int row = 1; row <= n; row++) {
+                int base = (row - 1) * m - 1;
+                long min = Long.MAX_VALUE;
+                for (int col = 1; col <= m; col++) {
+                    min = Math.min(min, sign * costs.data[base + col] - v[col]);
+                }
+                u[row] = min;
+            }
+            for (int col = 1; col <= m; col++) {
+                int row = p[col];
+                if (row != 0 && sign * costs.data[(row - 1) * m + col - 1] - u[row] - v[col] != 0) {
+                    p[col] = 0;
+                    changed = true;
+                }
+            }
+        }
+        boolean[] matched = new boolean[n + 1];
+        for (int col = 1; col <= m; col++) {
+            matched[p[col]] = true;
+        }
+        for (int row = 1; row <= n; row++) {
+            if (!matched[row])
+                ShortestPathSolver.augment(costs, maximize, workspace, row);
+        }
+        return ShortestPathSolver.extract(workspace);
+    }
+
+    private AssignmentResult result(int[] assignment) {
+        long total = 0;
+        for (int row = 0; row < costs.rows; row++) {
+            total += costs.get(row, assignment[row]);
+        }
+        return new AssignmentResult(assignment, total);
+    }
+
+    /**
+     * Looks the key up in memory, then on disk, and marks the file used.
+     * @param potentials True for an assignment entry with column
+     *                   potentials, false for capacitated divisions
+     */
+    private CachedSolution lookup(String key, int rows, int columns, boolean potentials) throws IOException {
+        CachedSolution entry = entries.get(key);
+        if (entry == null && directory != null) {
+            entry = read(directory.resolve(key + ".bin"));
+            if (entry != null && fits(entry, rows, columns, potentials))
+                entries.put(key, entry);
+            else
+                entry = null;
+        }
+        if (entry != null && directory != null) {
+            Path file = directory.resolve(key + ".bin");
+            if (Files.exists(file))
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        }
+        return entry;
+    }
+
+    /**
+     * @return true if the entry has the given shape: a column per row, or
+     * -1 for capacitated entries, and m + 1 potentials or none.
+     */
+    private static boolean fits(CachedSolution entry, int rows, int columns, boolean potentials) {
+        if (entry.assignment.length != rows || entry.v.length != (potentials ? columns + 1 : 0))
+            return false;
+        for (int col : entry.assignment) {
+            if (col < (potentials ? 0 : -1) || col >= columns)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the least recently used entry files, or shape files, beyond
+     * the capacity.
+     */
+    private void trim(boolean shapes) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.bin")) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().startsWith("shape-") == shapes)
+                    files.add(file);
+            }
+        }
+        if (files.size() <= capacity)
+            return;
+        List<FileTime> times = new ArrayList<>();
+        for (Path file : files) {
+            times.add(Files.getLastModifiedTime(file));
+        }
+        Integer[] order = new Integer[files.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> times.get(a).compareTo(times.get(b)));
+        for (int i = 0; i < order.length - capacity; i++) {
+            Files.deleteIfExists(files.get(order[i]));
+        }
+    }
+
+    /**
+     * Key for everything but the cell values.
+     */
+    private static String shape(int n, int m, List<String> divisions, boolean maximize) {
+        MessageDigest digest = sha256();
+        digest.update((n + "x" + m + (maximize ? "max" : "min")).getBytes(StandardCharsets.UTF_8));
+        for (String division : divisions) {
+            digest.update((byte) 0);
+            digest.update(division.getBytes(StandardCharsets.UTF_8));
+        }
+        return hex(digest.digest()).substring(0, 16);
+    }
+
+    /**
+     * SHA-256 of the shape and the row-normalized matrix.
+     */
+    private String fingerprint(String shape, boolean maximize) {
+        MessageDigest digest = sha256();
+        digest.update(shape.getBytes(StandardCharsets.UTF_8));
+        byte[] bytes = new byte[costs.cols * Long.BYTES];
+        for (int row = 0; row < costs.rows; row++) {
+            int base = row * costs.cols;
+            int best = costs.data[base];
+            for (int col = 1; col < costs.cols; col++) {
+                best = maximize ? Math.max(best, costs.data[base + col]) : Math.min(best, costs.data[base + col]);
+            }
+            for (int col = 0; col < costs.cols; col++) {
+                long value = (long) costs.data[base + col] - best;
+                for (int shift = 0; shift < Long.BYTES; shift++) {
+                    bytes[col * Long.BYTES + shift] = (byte) (value >>> (56 - 8 * shift));
+                }
+            }
+            digest.update(bytes);
+        }
+        return hex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 15, 16)).append(Character.forDigit(b & 15, 16));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes an entry to a temporary file and moves it into place, so a
+     * crash never leaves a half written entry behind.
+     */
+    private static void write(Path file, CachedSolution entry) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), "entry", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entry.assignment.length);
+            out.writeInt(entry.v.length);
+            for (int col : entry.assignment) {
+                out.writeInt(col);
+            }
+            for (long value : entry.v) {
+                out.writeLong(value);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return The entry in the file, or null if it is missing or unreadable.
+     */
+    private static CachedSolution read(Path file) {
+        if (file == null)
+            return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                return null;
+            int n = in.readInt();
+            int columns = in.readInt();
+            if (n < 0 || columns < 0)
+                return null;
+            int[] assignment = new int[n];
+            for (int row = 0; row < n; row++) {
+                assignment[row] = in.readInt();
+            }
+            long[] v = new long[columns];
+            for (int col = 0; col < columns; col++) {
+                v[col] = in.readLong();
+            }
+            return new CachedSolution(assignment, v);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Solves answered from the cache.
+     */
+    synchronized int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Solves warm-started from an entry of the same shape.
+     */
+    synchronized int getWarmStarts() {
+        return warmStarts;
+    }
+
+    /**
+     * @return Solves run from scratch.
+     */
+    synchronized int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Cached assignment and the 1-based column potentials that prove it,
+     * none for capacitated divisions.
+     */
+    private static final class CachedSolution {
+        final int[] assignment;
+        final long[] v;
+
+        CachedSolution(int[] assignment, long[] v) {
+            this.assignment = assignment;
+            this.v = v;
+        }
+    }
+}
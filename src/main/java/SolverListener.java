@@ -0,0 +1,15 @@
+/**
+ * Receives the metrics of every instrumented solve.
+ * Register one with Instrumentation.setListener to export the numbers.
+ *
+ * @author Naren Yenuganti
+ */
+
+interface SolverListener {
+
+    /**
+     * Called on the solving thread once a solve has finished.
+     * @param metrics Metrics of the solve, not reused afterwards.
+     */
+    void solved(SolverMetrics metrics);
+}
@@ -0,0 +1,121 @@
+/**
+ * Timers and counters of one solve. Only created while a listener is
+ * registered with Instrumentation.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class SolverMetrics {
+
+    /**
+     * Solver phases with their own timer.
+     * PREPARE copies and transforms the input, REDUCE subtracts row and
+     * column minima, COVER grows the zero matching and covers the zeros,
+     * ADJUST creates additional zeros, ASSIGN reads off the result and
+     * AUGMENT is the shortest path / bidding work of the other engines.
+     */
+    enum Phase { PREPARE, REDUCE, COVER, ADJUST, ASSIGN, AUGMENT }
+
+    private final String engine;
+    private final int rows;
+    private final int cols;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final long startNanos;
+    private final long startBytes;
+    private long totalNanos;
+    private long allocatedBytes = -1;
+    int iterations;
+    int augmentations;
+    int matchingPhases;
+
+    SolverMetrics(String engine, int rows, int cols) {
+        this.engine = engine;
+        this.rows = rows;
+        this.cols = cols;
+        startBytes = Instrumentation.allocatedBytes();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds the time since the last lap to a phase.
+     * @param phase Phase that just ended
+     * @param since Value returned by the previous lap or by start()
+     * @return Current time, to pass to the next lap
+     */
+    long lap(Phase phase, long since) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - since;
+        return now;
+    }
+
+    long start() {
+        return startNanos;
+    }
+
+    void finish() {
+        totalNanos = System.nanoTime() - startNanos;
+        long bytes = Instrumentation.allocatedBytes();
+        allocatedBytes = bytes < 0 || startBytes < 0 ? -1 : bytes - startBytes;
+    }
+
+    String getEngine() {
+        return engine;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    int getCols() {
+        return cols;
+    }
+
+    long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return Bytes allocated by the solving thread, -1 if the JVM cannot tell.
+     */
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return Cover/adjust passes of Munkres, bidding rounds of the auction.
+     */
+    int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return Augmenting paths applied.
+     */
+    int getAugmentations() {
+        return augmentations;
+    }
+
+    /**
+     * @return Hopcroft-Karp phases of the zero matching.
+     */
+    int getMatchingPhases() {
+        return matchingPhases;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("%s %dx%d: %.3f ms", engine, rows, cols, totalNanos / 1e6));
+        for (Phase phase : Phase.values()) {
+            if (phaseNanos[phase.ordinal()] > 0)
+                result.append(String.format(", %s %.3f ms", phase, phaseNanos[phase.ordinal()] / 1e6));
+        }
+        result.append(String.format(", %d iterations, %d augmentations, %d matching phases, %d bytes allocated",
+                iterations, augmentations, matchingPhases, allocatedBytes));
+        return result.toString();
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.Arrays;
+
+/**
+ * Scratch arrays for ShortestPathSolver: dual potentials, slack, path and
+ * marker arrays plus the result vector. A workspace grows to the largest
+ * problem it has seen and is then reused, so repeated solves of equal or
+ * smaller size allocate nothing.
+ * Arrays are 1-based as in the solver, index 0 is the virtual column.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class SolverWorkspace {
+
+    long[] u = new long[0];
+    long[] v = new long[0];
+    long[] minv = new long[0];
+    int[] p = new int[0];
+    int[] way = new int[0];
+    boolean[] used = new boolean[0];
+    int[] assignment = new int[0];
+    int n;
+    int m;
+
+    /**
+     * Sizes the workspace for an n x m problem and clears the potentials
+     * and the matching.
+     * @param n Number of rows
+     * @param m Number of columns
+     */
+    void reset(int n, int m) {
+        ensure(n, m);
+        Arrays.fill(u, 0, n + 1, 0);
+        Arrays.fill(v, 0, m + 1, 0);
+        Arrays.fill(p, 0, m + 1, 0);
+    }
+
+    /**
+     * Sizes the workspace for an n x m problem, keeping the potentials and
+     * the matching of the rows and columns that already exist.
+     * @param n Number of rows
+     * @param m Number of columns
+     */
+    void ensure(int n, int m) {
+        if (u.length < n + 1) {
+            u = Arrays.copyOf(u, n + 1);
+            assignment = Arrays.copyOf(assignment, n);
+        }
+        if (v.length < m + 1) {
+            v = Arrays.copyOf(v, m + 1);
+            p = Arrays.copyOf(p, m + 1);
+            minv = new long[m + 1];
+            way = new int[m + 1];
+            used = new boolean[m + 1];
+        }
+        this.n = n;
+        this.m = m;
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.Arrays;
+
+/**
+ * Sparse cost matrix in compressed sparse row (CSR) form: only the allowed
+ * (row, column) pairs are stored, so memory grows with the number of
+ * ranked pairs instead of rows * columns.
+ * The edges of row r are at indices rowStart[r] until rowStart[r + 1]
+ * of colIndex and cost.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class SparseCostMatrix {
+
+    final int rows;
+    final int cols;
+    final int[] rowStart;
+    final int[] colIndex;
+    final int[] cost;
+
+    private SparseCostMatrix(int rows, int cols, int[] rowStart, int[] colIndex, int[] cost) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowStart = rowStart;
+        this.colIndex = colIndex;
+        this.cost = cost;
+    }
+
+    /**
+     * Keeps every cell of a dense matrix except those equal to missing,
+     * for example the zero points of divisions a consultant did not rank.
+     * @param matrix Rectangular 2d-array
+     * @param missing Value of cells that are not allowed
+     * @return Sparse matrix
+     */
+    static SparseCostMatrix fromDense(int[][] matrix, int missing) {
+        int rows = matrix.length;
+        int cols = rows == 0 ? 0 : matrix[0].length;
+        Builder builder = new Builder(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (matrix[row][col] != missing)
+                    builder.add(row, col, matrix[row][col]);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return Number of stored (row, column) pairs.
+     */
+    int edges() {
+        return colIndex.length;
+    }
+
+    /**
+     * Collects edges in any order and packs them into CSR form.
+     */
+    static final class Builder {
+
+        private final int rows;
+        private final int cols;
+        private int[] edgeRow = new int[16];
+        private int[] edgeCol = new int[16];
+        private int[] edgeCost = new int[16];
+        private int size;
+
+        /**
+         * @param rows Number of rows
+         * @param cols Number of columns
+         */
+        Builder(int rows, int cols) {
+            this.rows = rows;
+            this.cols = cols;
+        }
+
+        /**
+         * Allows the pair (row, col) at the given cost.
+         * @return this builder
+         */
+        Builder add(int row, int col, int cost) {
+            if (row < 0 || row >= rows || col < 0 || col >= cols)
+                throw new IllegalArgumentException("Cell (" + row + ", " + col + ") outside " + rows + " x " + cols);
+            if (size == edgeRow.length) {
+                edgeRow = Arrays.copyOf(edgeRow, size * 2);
+                edgeCol = Arrays.copyOf(edgeCol, size * 2);
+                edgeCost = Arrays.copyOf(edgeCost, size * 2);
+            }
+            edgeRow[size] = row;
+            edgeCol[size] = col;
+            edgeCost[size] = cost;
+            size++;
+            return this;
+        }
+
+        /**
+         * @return The matrix, edges of a row in insertion order.
+         */
+        SparseCostMatrix build() {
+            int[] rowStart = new int[rows + 1];
+            for (int i = 0; i < size; i++) {
+                rowStart[edgeRow[i] + 1]++;
+            }
+            for (int row = 0; row < rows; row++) {
+                rowStart[row + 1] += rowStart[row];
+            }
+            int[] next = Arrays.copyOf(rowStart, rows);
+            int[] colIndex = new int[size];
+            int[] cost = new int[size];
+            for (int i = 0; i < size; i++) {
+                int at = next[edgeRow[i]]++;
+                colIndex[at] = edgeCol[i];
+                cost[at] = edgeCost[i];
+            }
+            return new SparseCostMatrix(rows, cols, rowStart, colIndex, cost);
+        }
+    }
+}
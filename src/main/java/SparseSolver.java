@@ -0,0 +1,214 @@
+import java.util.Arrays;
+
+/**
+ * Shortest augmenting path solver that only walks the stored edges of a
+ * SparseCostMatrix. Each row is added along a Dijkstra search over the
+ * edges with a binary heap and row/column potentials, so one augmentation
+ * costs O(E log m) and memory stays O(E + n + m).
+ * Every row must get one of its allowed columns; when that is impossible
+ * the solve stops at the first row that cannot be placed.
+ *
+ * @author Naren Yenuganti
+ */
+
+class SparseSolver {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+    private final SparseCostMatrix costs;
+    private final long sign;
+    private final long[] u;
+    private final long[] v;
+    private final long[] dist;
+    private final int[] matchRow;
+    private final int[] matchCol;
+    private final int[] pred;
+    private final boolean[] done;
+    private final int[] touched;
+    private final LongHeap heap = new LongHeap();
+    private int touchedSize;
+
+    /**
+     * @param costs Allowed pairs with n <= m.
+     * @param maximize True to maximize the total instead of minimizing it.
+     */
+    SparseSolver(SparseCostMatrix costs, boolean maximize) {
+        this.costs = costs;
+        sign = maximize ? -1 : 1;
+        u = new long[costs.rows];
+        v = new long[costs.cols];
+        dist = new long[costs.cols];
+        matchRow = new int[costs.rows];
+        matchCol = new int[costs.cols];
+        pred = new int[costs.cols];
+        done = new boolean[costs.cols];
+        touched = new int[costs.cols];
+    }
+
+    /**
+     * Solves the problem.
+     *
+     * @return Column assigned to each row.
+     * @throws IllegalArgumentException If no assignment covers every row.
+     */
+    int[] solve() {
+        checkFeasible();
+        Arrays.fill(u, 0);
+        Arrays.fill(v, 0);
+        Arrays.fill(dist, INF);
+        Arrays.fill(matchRow, -1);
+        Arrays.fill(matchCol, -1);
+        reduceRows();
+        for (int row = 0; row < costs.rows; row++) {
+            if (matchRow[row] < 0)
+                augment(row);
+        }
+        return matchRow.clone();
+    }
+
+    /**
+     * Sets every row potential to its cheapest edge and matches the row to
+     * that column if it is still free, so only the rows that clash need a
+     * shortest path search.
+     */
+    private void reduceRows() {
+        for (int row = 0; row < costs.rows; row++) {
+            long min = INF;
+            int best = -1;
+            for (int e = costs.rowStart[row]; e < costs.rowStart[row + 1]; e++) {
+                long c = sign * costs.cost[e];
+                if (c < min || c == min && matchCol[costs.colIndex[e]] < 0) {
+                    min = c;
+                    best = costs.colIndex[e];
+                }
+            }
+            u[row] = min;
+            if (matchCol[best] < 0) {
+                matchCol[best] = row;
+                matchRow[row] = best;
+            }
+        }
+    }
+
+    /**
+     * Cheap necessary conditions, checked before any search: no more rows
+     * than columns, no row without an allowed column, and enough distinct
+     * columns in use to cover every row.
+     */
+    private void checkFeasible() {
+        if (costs.rows > costs.cols)
+            throw new IllegalArgumentException("More rows than columns: " + costs.rows + " > " + costs.cols);
+        int distinct = 0;
+        for (int row = 0; row < costs.rows; row++) {
+            if (costs.rowStart[row] == costs.rowStart[row + 1])
+                throw new IllegalArgumentException("Row " + row + " has no allowed column");
+            for (int e = costs.rowStart[row]; e < costs.rowStart[row + 1]; e++) {
+                if (!done[costs.colIndex[e]]) {
+                    done[costs.colIndex[e]] = true;
+                    distinct++;
+                }
+            }
+        }
+        Arrays.fill(done, false);
+        if (distinct < costs.rows)
+            throw new IllegalArgumentException("Only " + distinct + " columns are allowed for " + costs.rows + " rows");
+    }
+
+    private void relax(int col, long d, int row) {
+        if (d < dist[col]) {
+            if (dist[col] == INF)
+                touched[touchedSize++] = col;
+            dist[col] = d;
+            pred[col] = row;
+            heap.push(d, col);
+        }
+    }
+
+    /**
+     * Adds one row along the shortest path to a free column and updates
+     * the potentials of the scanned rows and columns.
+     *
+     * @param root Row to add
+     */
+    private void augment(int root) {
+        int[] rowStart = costs.rowStart;
+        int[] colIndex = costs.colIndex;
+        int[] cost = costs.cost;
+        heap.clear();
+        touchedSize = 0;
+        for (int e = rowStart[root]; e < rowStart[root + 1]; e++) {
+            int col = colIndex[e];
+            relax(col, sign * cost[e] - u[root] - v[col], root);
+        }
+        int sink = -1;
+        long reach = INF;
+        while (!heap.isEmpty()) {
+            long d = heap.topKey();
+            int col = heap.topValue();
+            heap.pop();
+            if (done[col] || d > dist[col])
+                continue;
+            done[col] = true;
+            int row = matchCol[col];
+            if (row < 0) {
+                sink = col;
+                reach = d;
+                break;
+            }
+            for (int e = rowStart[row]; e < rowStart[row + 1]; e++) {
+                int next = colIndex[e];
+                if (!done[next])
+                    relax(next, d + sign * cost[e] - u[row] - v[next], row);
+            }
+        }
+        if (sink < 0) {
+            reset();
+            throw new IllegalArgumentException("Row " + root + " cannot be assigned without leaving another row unassigned");
+        }
+        u[root] += reach;
+        for (int i = 0; i < touchedSize; i++) {
+            int col = touched[i];
+            if (done[col] && col != sink) {
+                long shift = reach - dist[col];
+                v[col] -= shift;
+                u[matchCol[col]] += shift;
+            }
+        }
+        int col = sink;
+        while (true) {
+            int row = pred[col];
+            int previous = matchRow[row];
+            matchRow[row] = col;
+            matchCol[col] = row;
+            if (row == root)
+                break;
+            col = previous;
+        }
+        reset();
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedSize; i++) {
+            dist[touched[i]] = INF;
+            done[touched[i]] = false;
+        }
+    }
+
+    /**
+     * Sum of the costs of an assignment returned by solve().
+     *
+     * @param result Column per row
+     * @return Total cost
+     */
+    long getTotal(int[] result) {
+        long total = 0;
+        for (int row = 0; row < costs.rows; row++) {
+            for (int e = costs.rowStart[row]; e < costs.rowStart[row + 1]; e++) {
+                if (costs.colIndex[e] == result[row]) {
+                    total += costs.cost[e];
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+}
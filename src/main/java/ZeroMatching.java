@@ -0,0 +1,213 @@
+import java.util.Arrays;
+
+/**
+ * Maximum matching on the zero cells of a square reduced cost matrix.
+ * Rows and columns are the two sides of the bipartite graph and every zero
+ * cell is an edge. Uses Hopcroft-Karp, O(E * sqrt(V)), and derives the
+ * minimum line cover from the matching by Konig's theorem.
+ * The matching is kept between calls, so after the matrix is adjusted only
+ * the missing augmenting paths have to be found.
+ *
+ * @author Naren Yenuganti
+ */
+
+class ZeroMatching {
+
+    private static final int INF = Integer.MAX_VALUE;
+    private final int n;
+    private final int[] matchRow;
+    private final int[] matchCol;
+    private final int[] dist;
+    private final int[] queue;
+    private final int[] next;
+    private final int[] stack;
+    private final int[] stackCols;
+    private final boolean[] reachedRows;
+    private final boolean[] reachedCols;
+    private int size;
+    private int phases;
+    private int augmentations;
+
+    /**
+     * @param n Size of the square matrix.
+     */
+    ZeroMatching(int n) {
+        this.n = n;
+        matchRow = new int[n];
+        matchCol = new int[n];
+        dist = new int[n];
+        queue = new int[n];
+        next = new int[n];
+        stack = new int[n];
+        stackCols = new int[n];
+        reachedRows = new boolean[n];
+        reachedCols = new boolean[n];
+        Arrays.fill(matchRow, -1);
+        Arrays.fill(matchCol, -1);
+    }
+
+    /**
+     * Drops matched cells that are no longer zero, then augments the
+     * matching until it is maximum.
+     *
+     * @param matrix Reduced square cost matrix
+     * @return Size of the maximum matching
+     */
+    int grow(int[][] matrix) {
+        for (int row = 0; row < n; row++) {
+            int col = matchRow[row];
+            if (col >= 0 && matrix[row][col] != 0) {
+                matchRow[row] = -1;
+                matchCol[col] = -1;
+                size--;
+            }
+        }
+        while (size < n && layer(matrix)) {
+            phases++;
+            Arrays.fill(next, 0);
+            for (int row = 0; row < n; row++) {
+                if (matchRow[row] < 0 && augment(matrix, row)) {
+                    size++;
+                    augmentations++;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Breadth first search from the free rows, labelling rows by their
+     * distance along alternating paths.
+     *
+     * @param matrix Reduced square cost matrix
+     * @return true if some free column can be reached
+     */
+    private boolean layer(int[][] matrix) {
+        int head = 0;
+        int tail = 0;
+        for (int row = 0; row < n; row++) {
+            if (matchRow[row] < 0) {
+                dist[row] = 0;
+                queue[tail++] = row;
+            } else {
+                dist[row] = INF;
+            }
+        }
+        boolean found = false;
+        while (head < tail) {
+            int row = queue[head++];
+            for (int col = 0; col < n; col++) {
+                if (matrix[row][col] != 0)
+                    continue;
+                int matched = matchCol[col];
+                if (matched < 0) {
+                    found = true;
+                } else if (dist[matched] == INF) {
+                    dist[matched] = dist[row] + 1;
+                    queue[tail++] = matched;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Depth first search for an augmenting path from a free row along the
+     * layers found by layer(), using an explicit stack instead of recursion.
+     *
+     * @param matrix Reduced square cost matrix
+     * @param root Free row to start from
+     * @return true if the matching was augmented
+     */
+    private boolean augment(int[][] matrix, int root) {
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int row = stack[top - 1];
+            if (next[row] == n) {
+                dist[row] = INF;
+                top--;
+                continue;
+            }
+            int col = next[row]++;
+            if (matrix[row][col] != 0)
+                continue;
+            int matched = matchCol[col];
+            if (matched < 0) {
+                stackCols[top - 1] = col;
+                for (int level = 0; level < top; level++) {
+                    matchRow[stack[level]] = stackCols[level];
+                    matchCol[stackCols[level]] = stack[level];
+                }
+                return true;
+            }
+            if (dist[matched] == dist[row] + 1) {
+                stackCols[top - 1] = col;
+                stack[top++] = matched;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Minimum line cover by Konig's theorem. Rows and columns reachable from
+     * a free row along alternating paths are marked. The cover is every
+     * unmarked row plus every marked column, one line per matched cell.
+     * Lines are written as masks: -1 for a covered row or column, 0 otherwise.
+     *
+     * @param matrix Reduced square cost matrix
+     * @param coveredRows Array to write the row lines into
+     * @param coveredCols Array to write the column lines into
+     */
+    void cover(int[][] matrix, int[] coveredRows, int[] coveredCols) {
+        Arrays.fill(reachedRows, false);
+        Arrays.fill(reachedCols, false);
+        int head = 0;
+        int tail = 0;
+        for (int row = 0; row < n; row++) {
+            if (matchRow[row] < 0) {
+                reachedRows[row] = true;
+                queue[tail++] = row;
+            }
+        }
+        while (head < tail) {
+            int row = queue[head++];
+            for (int col = 0; col < n; col++) {
+                if (matrix[row][col] == 0 && !reachedCols[col]) {
+                    reachedCols[col] = true;
+                    int matched = matchCol[col];
+                    if (matched >= 0 && !reachedRows[matched]) {
+                        reachedRows[matched] = true;
+                        queue[tail++] = matched;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            coveredRows[i] = reachedRows[i] ? 0 : -1;
+            coveredCols[i] = reachedCols[i] ? -1 : 0;
+        }
+    }
+
+    /**
+     * @param row Row index
+     * @return Column matched to the row, or -1
+     */
+    int colOf(int row) {
+        return matchRow[row];
+    }
+
+    /**
+     * @return Hopcroft-Karp phases run so far.
+     */
+    int getPhases() {
+        return phases;
+    }
+
+    /**
+     * @return Augmenting paths applied so far.
+     */
+    int getAugmentations() {
+        return augmentations;
+    }
+}
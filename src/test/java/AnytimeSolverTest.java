@@ -0,0 +1,94 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class AnytimeSolverTest {
+
+    /**
+     * Regret greedy as documented: rows with the largest gap between their
+     * best and second best cell pick their best free column first.
+     */
+    private static int[] greedy(int[][] matrix, boolean maximize) {
+        int n = matrix.length;
+        int m = matrix[0].length;
+        long sign = maximize ? -1 : 1;
+        long[] regret = new long[n];
+        for (int row = 0; row < n; row++) {
+            long[] costs = new long[m];
+            for (int col = 0; col < m; col++) {
+                costs[col] = sign * matrix[row][col];
+            }
+            Arrays.sort(costs);
+            regret[row] = m > 1 ? costs[1] - costs[0] : 0;
+        }
+        int[] order = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparingLong((Integer row) -> regret[row]).reversed())
+                .mapToInt(Integer::intValue).toArray();
+        int[] assignment = new int[n];
+        boolean[] used = new boolean[m];
+        for (int row : order) {
+            int pick = -1;
+            for (int col = 0; col < m; col++) {
+                if (!used[col] && (pick < 0 || sign * matrix[row][col] < sign * matrix[row][pick]))
+                    pick = col;
+            }
+            assignment[row] = pick;
+            used[pick] = true;
+        }
+        return assignment;
+    }
+
+    @Test
+    public void boundBracketsTheOptimum() {
+        Random random = new Random(18);
+        for (int run = 0; run < 2000; run++) {
+            int rows = 1 + random.nextInt(6);
+            int cols = rows + random.nextInt(3);
+            boolean maximize = run % 2 == 0;
+            int[][] matrix = BruteForce.matrix(random, rows, cols, -10, run % 3 == 0 ? 3 : 100);
+            AnytimeResult result = new AnytimeSolver(matrix, maximize).solve(1000);
+            assertTrue(BruteForce.isAssignment(result.getAssignment(), cols));
+            assertEquals(rows, result.getAssignment().length);
+            assertEquals(BruteForce.total(matrix, result.getAssignment()), result.getTotal());
+            long optimum = BruteForce.optimum(matrix, maximize);
+            if (maximize) {
+                assertTrue(result.getTotal() <= optimum);
+                assertTrue(optimum <= result.getBound());
+            } else {
+                assertTrue(result.getBound() <= optimum);
+                assertTrue(optimum <= result.getTotal());
+            }
+            assertTrue(result.getGap() >= 0);
+            assertEquals(result.getGap() == 0, result.isOptimal());
+        }
+    }
+
+    @Test
+    public void zeroBudgetReturnsTheGreedyStart() {
+        Random random = new Random(19);
+        for (int run = 0; run < 500; run++) {
+            int rows = 1 + random.nextInt(12);
+            int cols = rows + random.nextInt(4);
+            boolean maximize = run % 2 == 0;
+            int[][] matrix = BruteForce.matrix(random, rows, cols, 0, 50);
+            int[] expected = greedy(matrix, maximize);
+            AnytimeResult quick = new AnytimeSolver(matrix, maximize).solve(0);
+            assertArrayEquals(expected, quick.getAssignment());
+            assertEquals(BruteForce.total(matrix, expected), quick.getTotal());
+            AnytimeResult full = new AnytimeSolver(matrix, maximize).solve(1000);
+            assertEquals(quick.getBound(), full.getBound());
+            assertTrue(maximize ? full.getTotal() >= quick.getTotal() : full.getTotal() <= quick.getTotal());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the server on a loopback port and talks to it over HTTP.
+ *
+ * @author Naren Yenuganti
+ */
+
+public class AssignmentServerTest {
+
+    /**
+     * @return Status code and body of the answer
+     */
+    private static String[] post(int port, String type, byte[] body, String query) throws IOException {
+        URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), port, "/solve" + query);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", type);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream answer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        for (int read; (read = in.read(chunk)) >= 0; ) {
+            answer.write(chunk, 0, read);
+        }
+        in.close();
+        return new String[]{String.valueOf(status), new String(answer.toByteArray(), StandardCharsets.UTF_8)};
+    }
+
+    private static String stats(int port) throws IOException {
+        URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), port, "/stats");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        assertEquals(200, connection.getResponseCode());
+        ByteArrayOutputStream answer = new ByteArrayOutputStream();
+        try (InputStream in = connection.getInputStream()) {
+            byte[] chunk = new byte[4096];
+            for (int read; (read = in.read(chunk)) >= 0; ) {
+                answer.write(chunk, 0, read);
+            }
+        }
+        return new String(answer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Numeric field of a flat JSON object
+     */
+    private static double field(String json, String name) {
+        int start = json.indexOf("\"" + name + "\": ") + name.length() + 4;
+        int end = start;
+        while (end < json.length() && json.charAt(end) != ',' && json.charAt(end) != '}') {
+            end++;
+        }
+        return Double.parseDouble(json.substring(start, end).trim());
+    }
+
+    private static String json(int[][] matrix, boolean maximize) {
+        StringBuilder json = new StringBuilder("{\"matrix\": [");
+        for (int row = 0; row < matrix.length; row++) {
+            json.append(row == 0 ? "" : ", ").append(Arrays.toString(matrix[row]));
+        }
+        return json.append("], \"maximize\": ").append(maximize).append('}').toString();
+    }
+
+    private static long total(String answer) {
+        return Long.parseLong(answer.substring(answer.indexOf("\"total\": ") + 9, answer.indexOf('}')).trim());
+    }
+
+    @Test
+    public void concurrentRequestsAreBatchedAndOptimal() throws Exception {
+        Random random = new Random(16);
+        List<int[][]> matrices = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            int rows = 1 + random.nextInt(6);
+            matrices.add(BruteForce.matrix(random, rows, rows + random.nextInt(3), -20, 100));
+        }
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        try (AssignmentServer server = new AssignmentServer(0, 2, 8, 20000)) {
+            List<Future<String[]>> answers = new ArrayList<>();
+            for (int i = 0; i < matrices.size(); i++) {
+                byte[] body = json(matrices.get(i), i % 2 == 0).getBytes(StandardCharsets.UTF_8);
+                answers.add(clients.submit(() -> post(server.getPort(), "application/json", body, "")));
+            }
+            for (int i = 0; i < matrices.size(); i++) {
+                String[] answer = answers.get(i).get();
+                assertEquals(answer[1], "200", answer[0]);
+                assertEquals(BruteForce.optimum(matrices.get(i), i % 2 == 0), total(answer[1]));
+            }
+            String stats = stats(server.getPort());
+            long batches = (long) field(stats, "batches");
+            assertTrue(stats, batches >= (matrices.size() + 7) / 8);
+            assertTrue(stats, batches < matrices.size());
+            assertTrue(stats, field(stats, "meanBatch") > 1);
+            assertTrue(stats, field(stats, "requests") <= matrices.size());
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    @Test
+    public void acceptsMatrixFileBodies() throws Exception {
+        int[][] matrix = {{4, 1, 3}, {2, 0, 5}, {3, 2, 2}};
+        Path file = Files.createTempFile("matrix", ".hamx");
+        try (AssignmentServer server = new AssignmentServer(0, 1, 4, 100)) {
+            MatrixFile.write(file, CostMatrix.of(matrix));
+            byte[] body = Files.readAllBytes(file);
+            String[] answer = post(server.getPort(), "application/octet-stream", body, "?maximize=true");
+            assertEquals("200", answer[0]);
+            assertEquals(BruteForce.optimum(matrix, true), total(answer[1]));
+            answer = post(server.getPort(), "application/json", "{\"matrix\": [[1, 2], [3]]}".getBytes(StandardCharsets.UTF_8), "");
+            assertEquals("400", answer[0]);
+            assertTrue(answer[1].contains("not rectangular"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void parsesQueryKeysAndValues() throws Exception {
+        Map<String, String> query = AssignmentServer.query("nomaximize=true&maximize=1&name=a%20b&bare");
+        assertEquals("true", query.get("nomaximize"));
+        assertEquals("1", query.get("maximize"));
+        assertEquals("a b", query.get("name"));
+        assertEquals("", query.get("bare"));
+        assertTrue(AssignmentServer.flag(query, "maximize"));
+        assertTrue(AssignmentServer.flag(query, "bare"));
+        assertFalse(AssignmentServer.flag(query, "missing"));
+        assertFalse(AssignmentServer.flag(AssignmentServer.query("maximize=false"), "maximize"));
+        assertTrue(AssignmentServer.query(null).isEmpty());
+
+        int[][] matrix = {{4, 1, 3}, {2, 0, 5}, {3, 2, 2}};
+        Path file = Files.createTempFile("matrix", ".hamx");
+        try (AssignmentServer server = new AssignmentServer(0, 1, 4, 100)) {
+            MatrixFile.write(file, CostMatrix.of(matrix));
+            byte[] body = Files.readAllBytes(file);
+            String[] answer = post(server.getPort(), "application/octet-stream", body, "?nomaximize=true");
+            assertEquals("200", answer[0]);
+            assertEquals(BruteForce.optimum(matrix, false), total(answer[1]));
+            answer = post(server.getPort(), "application/octet-stream", body, "?maximize=1");
+            assertEquals("200", answer[0]);
+            assertEquals(BruteForce.optimum(matrix, true), total(answer[1]));
+            answer = post(server.getPort(), "application/octet-stream", body, "?maximize=yes");
+            assertEquals("400", answer[0]);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void previewsAnswerWithABound() throws Exception {
+        Random random = new Random(18);
+        try (AssignmentServer server = new AssignmentServer(0, 1, 4, 100)) {
+            for (int i = 0; i < 10; i++) {
+                int[][] matrix = BruteForce.matrix(random, 5, 6, 0, 100);
+                String body = json(matrix, true);
+                body = body.substring(0, body.length() - 1) + ", \"previewMillis\": 20}";
+                String[] answer = post(server.getPort(), "application/json", body.getBytes(StandardCharsets.UTF_8), "");
+                assertEquals(answer[1], "200", answer[0]);
+                long optimum = BruteForce.optimum(matrix, true);
+                assertTrue(answer[1], (long) field(answer[1], "total") <= optimum);
+                assertTrue(answer[1], (long) field(answer[1], "bound") >= optimum);
+                assertEquals((long) field(answer[1], "bound") - (long) field(answer[1], "total"), (long) field(answer[1], "gap"));
+            }
+            Path file = Files.createTempFile("matrix", ".hamx");
+            try {
+                int[][] matrix = {{4, 1, 3}, {2, 0, 5}, {3, 2, 2}};
+                MatrixFile.write(file, CostMatrix.of(matrix));
+                byte[] body = Files.readAllBytes(file);
+                String[] answer = post(server.getPort(), "application/octet-stream", body, "?maximize=1&previewMillis=20");
+                assertEquals("200", answer[0]);
+                assertTrue(answer[1], answer[1].contains("\"bound\": "));
+                answer = post(server.getPort(), "application/octet-stream", body, "?previewMillis=-5");
+                assertEquals("400", answer[0]);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+}
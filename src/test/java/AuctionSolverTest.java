@@ -0,0 +1,53 @@
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class AuctionSolverTest {
+
+    @Test
+    public void parallelAndSerialMatchShortestPath() {
+        Random random = new Random(6);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int run = 0; run < 60; run++) {
+                // Every fourth instance is large enough for the bidding to run in parallel.
+                int rows = run % 4 == 0 ? 150 + random.nextInt(150) : 1 + random.nextInt(30);
+                int cols = rows + random.nextInt(run % 3 == 0 ? 1 : 20);
+                boolean maximize = run % 2 == 0;
+                int[][] matrix = BruteForce.matrix(random, rows, cols, -500, run % 5 == 0 ? 4 : 1000);
+                long expected = BruteForce.total(matrix, new ShortestPathSolver(matrix, maximize).solve());
+                int[] serial = new AuctionSolver(matrix, maximize, executor, 1).solve();
+                int[] parallel = new AuctionSolver(matrix, maximize, executor, 4).solve();
+                assertTrue(BruteForce.isAssignment(serial, cols));
+                assertTrue(BruteForce.isAssignment(parallel, cols));
+                assertEquals(expected, BruteForce.total(matrix, serial));
+                assertEquals(expected, BruteForce.total(matrix, parallel));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void rejectsJaggedRows() {
+        int[][][] jagged = {{{1, 2, 3}, {4, 5}}, {{1, 2}, {3, 4, 5}}};
+        for (int[][] matrix : jagged) {
+            try {
+                new AuctionSolver(matrix, true);
+                fail("accepted a jagged matrix");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("Row 1 has"));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class BottleneckSolverTest {
+
+    /**
+     * @return Worst cell of an assignment, the largest one when minimizing
+     */
+    private static int worst(int[][] matrix, int[] assignment, boolean maximize) {
+        int worst = maximize ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        for (int row = 0; row < matrix.length; row++) {
+            int value = matrix[row][assignment[row]];
+            worst = maximize ? Math.min(worst, value) : Math.max(worst, value);
+        }
+        return worst;
+    }
+
+    private static void check(Random random, int runs, int low, int bound) {
+        for (int run = 0; run < runs; run++) {
+            int rows = 1 + random.nextInt(6);
+            int cols = rows + random.nextInt(3);
+            boolean maximize = run % 2 == 0;
+            int[][] matrix = BruteForce.matrix(random, rows, cols, low, bound);
+            int bottleneck = maximize ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            for (int[] assignment : BruteForce.assignments(rows, cols)) {
+                int value = worst(matrix, assignment, maximize);
+                bottleneck = maximize ? Math.max(bottleneck, value) : Math.min(bottleneck, value);
+            }
+            long best = maximize ? Long.MIN_VALUE : Long.MAX_VALUE;
+            for (int[] assignment : BruteForce.assignments(rows, cols)) {
+                if (worst(matrix, assignment, maximize) == bottleneck) {
+                    long total = BruteForce.total(matrix, assignment);
+                    best = maximize ? Math.max(best, total) : Math.min(best, total);
+                }
+            }
+
+            BottleneckSolver plain = new BottleneckSolver(matrix, maximize, false);
+            int[] result = plain.solve();
+            assertTrue(BruteForce.isAssignment(result, cols));
+            assertEquals(bottleneck, plain.getBottleneck());
+            assertEquals(bottleneck, worst(matrix, result, maximize));
+
+            BottleneckSolver tieBreak = new BottleneckSolver(matrix, maximize, true);
+            result = tieBreak.solve();
+            assertTrue(BruteForce.isAssignment(result, cols));
+            assertEquals(bottleneck, worst(matrix, result, maximize));
+            assertEquals(best, tieBreak.getTotal(result));
+        }
+    }
+
+    @Test
+    public void matchesBruteForceOnNarrowValues() {
+        check(new Random(21), 1000, 0, 10);
+    }
+
+    @Test
+    public void matchesBruteForceOnWideValues() {
+        // Spread out enough that the search runs over the value range
+        // instead of the distinct keys.
+        check(new Random(22), 1000, Integer.MIN_VALUE / 2, Integer.MAX_VALUE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMoreRowsThanColumns() {
+        new BottleneckSolver(new int[][]{{1}, {2}}, true, false);
+    }
+}
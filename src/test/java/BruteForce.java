@@ -0,0 +1,88 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Exhaustive reference for the solver tests: every way to give each row
+ * its own column of a small matrix.
+ *
+ * @author Naren Yenuganti
+ */
+
+final class BruteForce {
+
+    private BruteForce() {
+    }
+
+    /**
+     * @param rows Number of rows
+     * @param cols Number of columns, at least rows
+     * @return Every injective row to column mapping
+     */
+    static List<int[]> assignments(int rows, int cols) {
+        List<int[]> result = new ArrayList<>();
+        collect(new int[rows], 0, new boolean[cols], result);
+        return result;
+    }
+
+    private static void collect(int[] current, int row, boolean[] used, List<int[]> result) {
+        if (row == current.length) {
+            result.add(current.clone());
+            return;
+        }
+        for (int col = 0; col < used.length; col++) {
+            if (!used[col]) {
+                used[col] = true;
+                current[row] = col;
+                collect(current, row + 1, used, result);
+                used[col] = false;
+            }
+        }
+    }
+
+    /**
+     * @return Best total over all assignments of the matrix
+     */
+    static long optimum(int[][] matrix, boolean maximize) {
+        long best = maximize ? Long.MIN_VALUE : Long.MAX_VALUE;
+        for (int[] assignment : assignments(matrix.length, matrix.length == 0 ? 0 : matrix[0].length)) {
+            long total = total(matrix, assignment);
+            best = maximize ? Math.max(best, total) : Math.min(best, total);
+        }
+        return best;
+    }
+
+    static long total(int[][] matrix, int[] assignment) {
+        long total = 0;
+        for (int row = 0; row < matrix.length; row++) {
+            total += matrix[row][assignment[row]];
+        }
+        return total;
+    }
+
+    /**
+     * @return true if no two rows share a column and every column is in range
+     */
+    static boolean isAssignment(int[] assignment, int cols) {
+        boolean[] used = new boolean[cols];
+        for (int col : assignment) {
+            if (col < 0 || col >= cols || used[col])
+                return false;
+            used[col] = true;
+        }
+        return true;
+    }
+
+    /**
+     * @return rows x cols matrix of values in [low, low + bound)
+     */
+    static int[][] matrix(Random random, int rows, int cols, int low, int bound) {
+        int[][] matrix = new int[rows][cols];
+        for (int[] row : matrix) {
+            for (int col = 0; col < cols; col++) {
+                row[col] = low + random.nextInt(bound);
+            }
+        }
+        return matrix;
+    }
+}
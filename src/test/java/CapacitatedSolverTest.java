@@ -0,0 +1,113 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class CapacitatedSolverTest {
+
+    /**
+     * Best total over every way to put each consultant in a division or,
+     * once the capacities are used up, in none.
+     */
+    private static long optimum(int[][] points, int[] capacities, int consultant, int[] load, int unassigned) {
+        if (consultant == points.length)
+            return 0;
+        long best = Long.MIN_VALUE;
+        if (unassigned > 0)
+            best = optimum(points, capacities, consultant + 1, load, unassigned - 1);
+        for (int div = 0; div < capacities.length; div++) {
+            if (load[div] < capacities[div]) {
+                load[div]++;
+                long rest = optimum(points, capacities, consultant + 1, load, unassigned);
+                load[div]--;
+                if (rest != Long.MIN_VALUE)
+                    best = Math.max(best, points[consultant][div] + rest);
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void matchesBruteForceOnRandomRosters() {
+        Random random = new Random(3);
+        for (int run = 0; run < 1000; run++) {
+            int n = 1 + random.nextInt(7);
+            int k = 1 + random.nextInt(3);
+            int[][] points = BruteForce.matrix(random, n, k, 0, run % 2 == 0 ? 3 : 50);
+            int[] capacities = new int[k];
+            for (int div = 0; div < k; div++) {
+                capacities[div] = random.nextInt(n + 1);
+            }
+            int total = Arrays.stream(capacities).sum();
+            CapacitatedSolver solver = new CapacitatedSolver(points, capacities);
+            int[] result = solver.solve();
+            int[] load = new int[k];
+            int unassigned = 0;
+            for (int div : result) {
+                if (div < 0)
+                    unassigned++;
+                else
+                    load[div]++;
+            }
+            for (int div = 0; div < k; div++) {
+                assertTrue(load[div] <= capacities[div]);
+            }
+            assertEquals(Math.max(0, n - total), unassigned);
+            assertEquals(optimum(points, capacities, 0, new int[k], Math.max(0, n - total)), solver.getTotal(result));
+        }
+    }
+
+    @Test
+    public void evenCapacitiesCoverTheRoster() {
+        assertArrayEquals(new int[]{3, 3, 2, 2, 2}, Assignment.evenCapacities(12));
+        assertArrayEquals(new int[]{1, 1, 0, 0, 0}, Assignment.evenCapacities(2));
+    }
+
+    @Test
+    public void everyEngineRespectsTheCapacities() throws Exception {
+        Random random = new Random(17);
+        for (int run = 0; run < 40; run++) {
+            int n = 1 + random.nextInt(9);
+            int[][] points = BruteForce.matrix(random, n, 5, 0, run % 2 == 0 ? 4 : 60);
+            int[] capacities = new int[5];
+            for (int div = 0; div < capacities.length; div++) {
+                capacities[div] = random.nextInt(3);
+            }
+            ArrayList<Object> names = new ArrayList<>();
+            HashMap<Object, int[]> namesToPoints = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                names.add("consultant " + i);
+                namesToPoints.put("consultant " + i, points[i]);
+            }
+            CapacitatedSolver solver = new CapacitatedSolver(points, capacities);
+            long expected = solver.getTotal(solver.solve());
+            for (Assignment.Engine engine : Assignment.Engine.values()) {
+                Assignment assignment = new Assignment(capacities, engine, null, names, namesToPoints);
+                int[] divisions = assignment.getDivisions();
+                int[] load = new int[capacities.length];
+                for (int div : divisions) {
+                    if (div >= 0)
+                        load[div]++;
+                }
+                for (int div = 0; div < capacities.length; div++) {
+                    assertTrue(engine.name(), load[div] <= capacities[div]);
+                }
+                assertEquals(engine.name(), solver.getTotal(divisions), assignment.getTotalPoints());
+                if (engine == Assignment.Engine.BOTTLENECK)
+                    assertTrue(engine.name(), assignment.getTotalPoints() <= expected);
+                else
+                    assertEquals(engine.name(), expected, assignment.getTotalPoints());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class CsvPreferenceSourceTest {
+
+    private static Preferences load(String content) throws IOException {
+        Path file = Files.createTempFile("roster", ".csv");
+        try {
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+            return new CsvPreferenceSource(file).load();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void readsRowsWithoutHeader() throws IOException {
+        Preferences preferences = load("Jane Doe,40,20,20,10,10\n\"Doe, John\",10,10,20,20,40\n");
+        assertEquals(Arrays.<Object>asList("Jane Doe", "Doe, John"), preferences.getNames());
+        assertArrayEquals(new int[]{10, 10, 20, 20, 40}, preferences.namesToPoints().get("Doe, John"));
+    }
+
+    @Test
+    public void skipsHeaderAfterBlankLinesAndByteOrderMark() throws IOException {
+        Preferences preferences = load("\uFEFF\r\n\nName,A,B\r\nJane,1,2\n\nJohn,3,4");
+        assertEquals(Arrays.<Object>asList("Jane", "John"), preferences.getNames());
+        assertEquals(2, preferences.getPoints().cols);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTextAfterTheFirstLine() throws IOException {
+        load("Jane,1,2\nName,A,B\n");
+    }
+}
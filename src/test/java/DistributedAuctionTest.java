@@ -0,0 +1,50 @@
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Spawns worker JVMs on the test class path and solves over loopback.
+ *
+ * @author Naren Yenuganti
+ */
+
+public class DistributedAuctionTest {
+
+    @Test
+    public void workerJvmsFindTheOptimum() throws Exception {
+        Random random = new Random(20);
+        // A new file per matrix, as the workers may still map the last one.
+        Path directory = Files.createTempDirectory("auction");
+        try (DistributedAuction auction = new DistributedAuction(0, 3, true)) {
+            for (int run = 0; run < 20; run++) {
+                int rows = 1 + random.nextInt(6);
+                int[][] matrix = BruteForce.matrix(random, rows, rows + random.nextInt(4), -50, 100);
+                boolean maximize = run % 2 == 0;
+                Path file = directory.resolve(run + ".hamx");
+                MatrixFile.write(file, CostMatrix.of(matrix));
+                AssignmentResult result = auction.solve(file, maximize);
+                assertTrue(BruteForce.isAssignment(result.getAssignment(), matrix[0].length));
+                assertEquals(BruteForce.optimum(matrix, maximize), result.getTotal());
+                assertEquals(result.getTotal(), BruteForce.total(matrix, result.getAssignment()));
+            }
+            int[][] matrix = BruteForce.matrix(random, 120, 150, 0, 10000);
+            Path file = directory.resolve("large.hamx");
+            MatrixFile.write(file, CostMatrix.of(matrix));
+            AssignmentResult result = auction.solve(file, false);
+            assertEquals(BruteForce.total(matrix, new ShortestPathSolver(matrix, false).solve()), result.getTotal());
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class DoubleShortestPathSolverTest {
+
+    private static double optimum(double[][] matrix, boolean maximize) {
+        double best = maximize ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        for (int[] assignment : BruteForce.assignments(matrix.length, matrix[0].length)) {
+            double total = 0;
+            for (int row = 0; row < matrix.length; row++) {
+                total += matrix[row][assignment[row]];
+            }
+            best = maximize ? Math.max(best, total) : Math.min(best, total);
+        }
+        return best;
+    }
+
+    @Test
+    public void matchesBruteForceWithinTheTolerance() {
+        Random random = new Random(14);
+        DoubleShortestPathSolver solver = new DoubleShortestPathSolver();
+        for (int run = 0; run < 1500; run++) {
+            int rows = 1 + random.nextInt(5);
+            int cols = rows + random.nextInt(3);
+            boolean maximize = run % 2 == 0;
+            double scale = run % 3 == 0 ? 1e6 : 1;
+            double[][] matrix = new double[rows][cols];
+            for (double[] row : matrix) {
+                for (int col = 0; col < cols; col++) {
+                    // Thirds and tenths do not add up exactly, and a few cells
+                    // differ from another by less than the tolerance.
+                    row[col] = scale * (random.nextInt(7) / 3.0 + random.nextInt(5) / 10.0)
+                            + (random.nextInt(4) == 0 ? 1e-12 * scale : 0);
+                }
+            }
+            DoubleCostMatrix costs = DoubleCostMatrix.of(matrix);
+            int[] assignment = Arrays.copyOf(solver.solve(costs, maximize), rows);
+            assertTrue(BruteForce.isAssignment(assignment, cols));
+            double expected = optimum(matrix, maximize);
+            double tolerance = rows * DoubleShortestPathSolver.RELATIVE_TOLERANCE * scale * 4;
+            assertEquals(expected, DoubleShortestPathSolver.total(costs, assignment), tolerance);
+        }
+    }
+
+    @Test
+    public void toleranceFollowsTheLargestCost() {
+        DoubleShortestPathSolver relative = new DoubleShortestPathSolver();
+        relative.solve(DoubleCostMatrix.of(new double[][]{{1e6, 0}, {0, -2e6}}), false);
+        assertTrue(relative.isZero(1e-3));
+        assertFalse(relative.isZero(1e-2));
+        relative.solve(DoubleCostMatrix.of(new double[][]{{0.5, 0.25}}), false);
+        assertTrue(relative.isZero(1e-9));
+        assertFalse(relative.isZero(1e-8));
+
+        DoubleShortestPathSolver fixed = new DoubleShortestPathSolver(0.5);
+        fixed.solve(DoubleCostMatrix.of(new double[][]{{1e6, 0}, {0, 1}}), false);
+        assertTrue(fixed.isZero(-0.5));
+        assertFalse(fixed.isZero(0.6));
+    }
+}
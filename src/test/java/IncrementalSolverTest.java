@@ -0,0 +1,86 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class IncrementalSolverTest {
+
+    /**
+     * Optimum of the live rows, padded with zero columns when there are more
+     * rows than columns, as the solver does.
+     */
+    private static long optimum(List<int[]> rows, int cols, boolean maximize) {
+        int width = Math.max(rows.size(), cols);
+        int[][] matrix = new int[rows.size()][];
+        for (int row = 0; row < matrix.length; row++) {
+            matrix[row] = Arrays.copyOf(rows.get(row), width);
+        }
+        return BruteForce.optimum(matrix, maximize);
+    }
+
+    @Test
+    public void matchesBruteForceAfterEveryChange() {
+        Random random = new Random(5);
+        for (int run = 0; run < 300; run++) {
+            int cols = 1 + random.nextInt(5);
+            boolean maximize = run % 2 == 0;
+            int bound = run % 3 == 0 ? 4 : 100;
+            List<int[]> rows = new ArrayList<>();
+            List<Integer> ids = new ArrayList<>();
+            int initial = random.nextInt(6);
+            for (int row = 0; row < initial; row++) {
+                rows.add(BruteForce.matrix(random, 1, cols, -bound / 2, bound)[0]);
+                ids.add(row);
+            }
+            IncrementalSolver solver = new IncrementalSolver(rows.toArray(new int[0][]), cols, maximize);
+            for (int step = 0; step < 10; step++) {
+                int op = random.nextInt(3);
+                int[] costs = BruteForce.matrix(random, 1, cols, -bound / 2, bound)[0];
+                if (op == 0 && rows.size() < 6 || rows.isEmpty()) {
+                    ids.add(solver.addRow(costs));
+                    rows.add(costs);
+                } else if (op == 1) {
+                    int k = random.nextInt(rows.size());
+                    solver.updateRow(ids.get(k), costs);
+                    rows.set(k, costs);
+                } else {
+                    int k = random.nextInt(rows.size());
+                    solver.removeRow(ids.remove(k));
+                    rows.remove(k);
+                }
+                assertEquals(optimum(rows, cols, maximize), solver.getTotal());
+                int[] assignment = solver.assignment();
+                long total = 0;
+                boolean[] used = new boolean[cols];
+                int assigned = 0;
+                for (int k = 0; k < ids.size(); k++) {
+                    int col = assignment[ids.get(k)];
+                    if (col >= 0) {
+                        assertTrue(col < cols && !used[col]);
+                        used[col] = true;
+                        total += rows.get(k)[col];
+                        assigned++;
+                    }
+                }
+                assertEquals(Math.min(rows.size(), cols), assigned);
+                assertEquals(solver.getTotal(), total);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void removedRowCannotBeUpdated() {
+        IncrementalSolver solver = new IncrementalSolver(new int[][]{{1, 2}, {3, 4}}, 2, false);
+        solver.removeRow(1);
+        solver.updateRow(1, new int[]{5, 6});
+    }
+}
@@ -0,0 +1,74 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class InstrumentationTest {
+
+    @After
+    public void disable() {
+        Instrumentation.setListener(null);
+    }
+
+    private static long phases(SolverMetrics metrics) {
+        long sum = 0;
+        for (SolverMetrics.Phase phase : SolverMetrics.Phase.values()) {
+            assertTrue(metrics.getPhaseNanos(phase) >= 0);
+            sum += metrics.getPhaseNanos(phase);
+        }
+        return sum;
+    }
+
+    @Test
+    public void listenerReceivesPhaseTimings() {
+        List<SolverMetrics> solves = new ArrayList<>();
+        Instrumentation.setListener(solves::add);
+        int[][] matrix = BruteForce.matrix(new Random(10), 30, 40, 0, 100);
+        new ShortestPathSolver(matrix, true).solve();
+        assertEquals(1, solves.size());
+        SolverMetrics metrics = solves.get(0);
+        assertEquals("shortestPath", metrics.getEngine());
+        assertEquals(30, metrics.getRows());
+        assertEquals(40, metrics.getCols());
+        assertEquals(30, metrics.getAugmentations());
+        assertTrue(metrics.getPhaseNanos(SolverMetrics.Phase.AUGMENT) > 0);
+        assertTrue(phases(metrics) <= metrics.getTotalNanos());
+
+        ArrayList<Object> names = new ArrayList<>();
+        HashMap<Object, int[]> namesToPoints = new HashMap<>();
+        for (int i = 0; i < 12; i++) {
+            names.add("consultant " + i);
+        }
+        new Assignment(false, BruteForce.matrix(new Random(11), 5, 12, 0, 10), names, namesToPoints);
+        assertEquals(2, solves.size());
+        metrics = solves.get(1);
+        assertEquals("munkres", metrics.getEngine());
+        assertEquals(5, metrics.getRows());
+        assertEquals(12, metrics.getCols());
+        assertTrue(metrics.getPhaseNanos(SolverMetrics.Phase.COVER) > 0);
+        assertEquals(0, metrics.getPhaseNanos(SolverMetrics.Phase.AUGMENT));
+        assertTrue(phases(metrics) <= metrics.getTotalNanos());
+    }
+
+    @Test
+    public void disabledInstrumentationRecordsNothing() {
+        List<SolverMetrics> solves = new ArrayList<>();
+        Instrumentation.setListener(solves::add);
+        Instrumentation.setListener(null);
+        assertNull(Instrumentation.start("shortestPath", 3, 3));
+        new ShortestPathSolver(BruteForce.matrix(new Random(12), 20, 20, 0, 100), true).solve();
+        Instrumentation.finish(null);
+        assertTrue(solves.isEmpty());
+    }
+}
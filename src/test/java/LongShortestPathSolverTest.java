@@ -0,0 +1,74 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class LongShortestPathSolverTest {
+
+    static long optimum(long[][] matrix, boolean maximize) {
+        long best = maximize ? Long.MIN_VALUE : Long.MAX_VALUE;
+        for (int[] assignment : BruteForce.assignments(matrix.length, matrix[0].length)) {
+            long total = 0;
+            for (int row = 0; row < matrix.length; row++) {
+                total += matrix[row][assignment[row]];
+            }
+            best = maximize ? Math.max(best, total) : Math.min(best, total);
+        }
+        return best;
+    }
+
+    /**
+     * @return rows x cols matrix of multiples of scale in (-bound, bound) * scale
+     */
+    static long[][] matrix(Random random, int rows, int cols, int bound, long scale) {
+        long[][] matrix = new long[rows][cols];
+        for (long[] row : matrix) {
+            for (int col = 0; col < cols; col++) {
+                row[col] = (random.nextInt(2 * bound - 1) - bound + 1) * scale;
+            }
+        }
+        return matrix;
+    }
+
+    @Test
+    public void matchesBruteForceBeyondTheIntRange() {
+        Random random = new Random(11);
+        // 2^58 keeps the cells within +-2^60 while sums of a few overflow int many times over.
+        long[] scales = {1, 3_000_000_000L, (1L << 58) / 3};
+        for (int run = 0; run < 1500; run++) {
+            int rows = 1 + random.nextInt(5);
+            int cols = rows + random.nextInt(3);
+            boolean maximize = run % 2 == 0;
+            long[][] matrix = matrix(random, rows, cols, run % 4 == 0 ? 2 : 4, scales[run % scales.length]);
+            LongCostMatrix costs = LongCostMatrix.of(matrix);
+            int[] result = LongShortestPathSolver.solve(costs, maximize, new SolverWorkspace());
+            int[] assignment = Arrays.copyOf(result, rows);
+            assertTrue(BruteForce.isAssignment(assignment, cols));
+            assertEquals(optimum(matrix, maximize), LongShortestPathSolver.total(costs, assignment));
+        }
+    }
+
+    @Test
+    public void rejectsCostsOutsideTheLimit() {
+        long[][] matrix = {{1, 2}, {LongShortestPathSolver.LIMIT, 0}};
+        try {
+            LongShortestPathSolver.solve(LongCostMatrix.of(matrix), false, new SolverWorkspace());
+            fail("accepted 2^60");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("(1, 0)"));
+        }
+        matrix[1][0] = LongShortestPathSolver.LIMIT - 1;
+        matrix[0][1] = LongShortestPathSolver.LIMIT - 1;
+        int[] result = LongShortestPathSolver.solve(LongCostMatrix.of(matrix), true, new SolverWorkspace());
+        assertEquals(1, result[0]);
+        assertEquals(0, result[1]);
+    }
+}
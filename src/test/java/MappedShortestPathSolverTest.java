@@ -0,0 +1,75 @@
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class MappedShortestPathSolverTest {
+
+    @Test
+    public void solvesIntFilesLikeTheHeapSolver() throws Exception {
+        Random random = new Random(9);
+        Path file = Files.createTempFile("matrix", ".hamx");
+        SolverWorkspace heap = new SolverWorkspace();
+        SolverWorkspace mapped = new SolverWorkspace();
+        try {
+            for (int run = 0; run < 200; run++) {
+                int rows = 1 + random.nextInt(6);
+                int cols = rows + random.nextInt(3);
+                boolean maximize = run % 2 == 0;
+                int[][] matrix = BruteForce.matrix(random, rows, cols, -50, 100);
+                CostMatrix costs = CostMatrix.of(matrix);
+                MatrixFile.write(file, costs);
+                assertArrayEquals(new int[]{rows, cols}, MatrixFile.shape(file));
+                MappedCostMatrix map = MatrixFile.map(file);
+                assertEquals(Integer.BYTES, map.elementBytes);
+                for (int row = 0; row < rows; row++) {
+                    for (int col = 0; col < cols; col++) {
+                        assertEquals(matrix[row][col], map.get(row, col));
+                    }
+                }
+                // Workspaces are reused across sizes, so only the first rows count.
+                int[] assignment = Arrays.copyOf(MappedShortestPathSolver.solve(map, maximize, mapped), rows);
+                int[] expected = Arrays.copyOf(ShortestPathSolver.solve(costs, maximize, heap), rows);
+                assertTrue(BruteForce.isAssignment(assignment, cols));
+                assertEquals(BruteForce.optimum(matrix, maximize), MappedShortestPathSolver.total(map, assignment));
+                assertArrayEquals(expected, assignment);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void solvesLongFilesLikeTheLongSolver() throws Exception {
+        Random random = new Random(10);
+        Path file = Files.createTempFile("matrix", ".hamx");
+        try {
+            for (int run = 0; run < 200; run++) {
+                int rows = 1 + random.nextInt(5);
+                int cols = rows + random.nextInt(3);
+                boolean maximize = run % 2 == 0;
+                long[][] matrix = LongShortestPathSolverTest.matrix(random, rows, cols, 5, 5_000_000_000L);
+                LongCostMatrix costs = LongCostMatrix.of(matrix);
+                MatrixFile.write(file, costs);
+                MappedCostMatrix map = MatrixFile.map(file);
+                assertEquals(Long.BYTES, map.elementBytes);
+                int[] assignment = Arrays.copyOf(MappedShortestPathSolver.solve(map, maximize, new SolverWorkspace()), rows);
+                int[] expected = Arrays.copyOf(LongShortestPathSolver.solve(costs, maximize, new SolverWorkspace()), rows);
+                assertEquals(LongShortestPathSolverTest.optimum(matrix, maximize), MappedShortestPathSolver.total(map, assignment));
+                assertArrayEquals(expected, assignment);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
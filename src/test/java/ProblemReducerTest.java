@@ -0,0 +1,87 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class ProblemReducerTest {
+
+    @Test
+    public void matchesBruteForceOnRandomMatrices() {
+        Random random = new Random(8);
+        for (int run = 0; run < 2000; run++) {
+            int rows = 1 + random.nextInt(5);
+            int cols = rows + random.nextInt(3);
+            boolean maximize = run % 2 == 0;
+            // Every third matrix is mostly ties, which empties rows and forces pairs.
+            int[][] matrix = BruteForce.matrix(random, rows, cols, -3, run % 3 == 0 ? 2 : 30);
+            ProblemReducer reducer = new ProblemReducer(matrix, maximize);
+            int[] result = reducer.solve();
+            assertTrue(BruteForce.isAssignment(result, cols));
+            assertEquals(BruteForce.optimum(matrix, maximize), reducer.getTotal(result));
+            assertEquals(BruteForce.total(matrix, result), reducer.getTotal(result));
+        }
+    }
+
+    @Test
+    public void forcesPairsAndFillsEmptyRows() {
+        int[][] matrix = {
+                {5, 0, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 7, 3},
+        };
+        ProblemReducer reducer = new ProblemReducer(matrix, true);
+        assertArrayEquals(new int[]{0, 1, 2}, reducer.solve());
+        assertEquals("Reduced 3x4: 2 forced pairs, 1 rows without preferences, 1 columns pruned, "
+                + "0 components solved, largest 0x0", reducer.getReport());
+
+        int[][] negated = new int[matrix.length][];
+        for (int row = 0; row < matrix.length; row++) {
+            negated[row] = new int[matrix[row].length];
+            for (int col = 0; col < matrix[row].length; col++) {
+                negated[row][col] = -matrix[row][col];
+            }
+        }
+        reducer = new ProblemReducer(negated, false);
+        assertArrayEquals(new int[]{0, 1, 2}, reducer.solve());
+        assertEquals(-12, reducer.getTotal(new int[]{0, 1, 2}));
+        assertEquals("Reduced 3x4: 2 forced pairs, 1 rows without preferences, 1 columns pruned, "
+                + "0 components solved, largest 0x0", reducer.getReport());
+    }
+
+    @Test
+    public void keepsOnlyTheBestEdgesOfEachRow() {
+        int[][] matrix = {
+                {5, 4, 3, 2, 1},
+                {1, 2, 3, 4, 5},
+        };
+        ProblemReducer reducer = new ProblemReducer(matrix, true);
+        int[] result = reducer.solve();
+        assertEquals(10, reducer.getTotal(result));
+        assertEquals("Reduced 2x5: 2 forced pairs, 0 rows without preferences, 1 columns pruned, "
+                + "0 components solved, largest 0x0", reducer.getReport());
+    }
+
+    @Test
+    public void solvesIndependentComponents() {
+        int[][] matrix = {
+                {3, 1, 0, 0, 0},
+                {1, 3, 0, 0, 0},
+                {0, 0, 2, 5, 0},
+                {0, 0, 5, 2, 0},
+                {0, 0, 1, 1, 0},
+        };
+        ProblemReducer reducer = new ProblemReducer(matrix, true);
+        int[] result = reducer.solve();
+        assertTrue(BruteForce.isAssignment(result, 5));
+        assertEquals(BruteForce.optimum(matrix, true), reducer.getTotal(result));
+        assertEquals("Reduced 5x5: 0 forced pairs, 0 rows without preferences, 1 columns pruned, "
+                + "2 components solved, largest 3x2", reducer.getReport());
+    }
+}
@@ -0,0 +1,57 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class RankedAssignmentsTest {
+
+    @Test
+    public void enumeratesEveryAssignmentInOrder() {
+        Random random = new Random(12);
+        for (int run = 0; run < 300; run++) {
+            int rows = 1 + random.nextInt(4);
+            int cols = rows + random.nextInt(3);
+            boolean maximize = run % 2 == 0;
+            int[][] matrix = BruteForce.matrix(random, rows, cols, -5, run % 3 == 0 ? 3 : 40);
+            List<Long> expected = new ArrayList<>();
+            for (int[] assignment : BruteForce.assignments(rows, cols)) {
+                expected.add(BruteForce.total(matrix, assignment));
+            }
+            Collections.sort(expected);
+            if (maximize)
+                Collections.reverse(expected);
+
+            RankedAssignments ranked = new RankedAssignments(matrix, maximize);
+            List<Long> totals = new ArrayList<>();
+            Set<List<Integer>> seen = new HashSet<>();
+            while (ranked.hasNext()) {
+                AssignmentResult result = ranked.next();
+                int[] assignment = result.getAssignment();
+                assertEquals(rows, assignment.length);
+                assertTrue(BruteForce.isAssignment(assignment, cols));
+                assertEquals(BruteForce.total(matrix, assignment), result.getTotal());
+                List<Integer> key = new ArrayList<>();
+                for (int col : assignment) {
+                    key.add(col);
+                }
+                assertTrue("duplicate " + Arrays.toString(assignment), seen.add(key));
+                totals.add(result.getTotal());
+            }
+            assertEquals(expected, totals);
+            assertFalse(ranked.hasNext());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the kernels with the plain loops they replace.
+ *
+ * @author Naren Yenuganti
+ */
+
+public class RowKernelsTest {
+
+    private static final int[] LENGTHS = {1, 2, 7, 31, 32, 33, 63, 64, 65, 100, 257};
+
+    private static int[] row(Random random, int length, int bound) {
+        int[] row = new int[length];
+        for (int col = 0; col < length; col++) {
+            row[col] = random.nextInt(bound);
+        }
+        return row;
+    }
+
+    private static int[] mask(Random random, int length) {
+        int[] mask = new int[length];
+        for (int col = 0; col < length; col++) {
+            mask[col] = random.nextInt(3) == 0 ? -1 : 0;
+        }
+        return mask;
+    }
+
+    @Test
+    public void maskedKernelsMatchScalarLoops() {
+        Random random = new Random(19);
+        for (int run = 0; run < 200; run++) {
+            for (int size : LENGTHS) {
+                // Scan a prefix now and then; the cells after it must not change.
+                int length = run % 3 == 0 ? 1 + random.nextInt(size) : size;
+                int[] row = row(random, size, run % 2 == 0 ? 5 : 1 << 20);
+                int[] mask = mask(random, size);
+                if (run % 7 == 0)
+                    Arrays.fill(mask, -1);
+                int value = random.nextInt(1000);
+                int start = run % 5 == 0 ? Integer.MAX_VALUE : random.nextInt(1 << 20);
+
+                int expectedMin = start;
+                int[] added = row.clone();
+                int[] subtracted = row.clone();
+                for (int col = 0; col < length; col++) {
+                    if (mask[col] == 0) {
+                        expectedMin = Math.min(expectedMin, row[col]);
+                        subtracted[col] -= value;
+                    } else {
+                        added[col] += value;
+                    }
+                }
+                assertEquals(expectedMin, RowKernels.minUncovered(row, mask, length, start));
+                int[] actual = row.clone();
+                RowKernels.addCovered(actual, mask, length, value);
+                assertArrayEquals(added, actual);
+                actual = row.clone();
+                RowKernels.subtractUncovered(actual, mask, length, value);
+                assertArrayEquals(subtracted, actual);
+            }
+        }
+    }
+
+    @Test
+    public void rowKernelsMatchScalarLoops() {
+        Random random = new Random(20);
+        for (int size : LENGTHS) {
+            int length = 1 + random.nextInt(size);
+            int[] row = row(random, size, 1000);
+            int[] other = row(random, size, 1000);
+            int expected = row[0];
+            int[] mins = other.clone();
+            int[] minus = row.clone();
+            for (int col = 0; col < length; col++) {
+                expected = Math.min(expected, row[col]);
+                mins[col] = Math.min(other[col], row[col]);
+                minus[col] -= other[col];
+            }
+            assertEquals(expected, RowKernels.min(row, length));
+            int[] actual = other.clone();
+            RowKernels.minInto(actual, row, length);
+            assertArrayEquals(mins, actual);
+            actual = row.clone();
+            RowKernels.subtract(actual, other, length);
+            assertArrayEquals(minus, actual);
+        }
+    }
+
+    @Test
+    public void tiledTransposeMatchesScalarLoop() {
+        Random random = new Random(21);
+        int[] sides = {0, 1, 5, 31, 32, 33, 64, 70};
+        for (int rows : sides) {
+            for (int cols : sides) {
+                int[][] matrix = BruteForce.matrix(random, rows, cols, -1000, 2000);
+                int[][] expected = new int[rows == 0 ? 0 : cols][rows];
+                for (int row = 0; row < rows; row++) {
+                    for (int col = 0; col < cols; col++) {
+                        expected[col][row] = matrix[row][col];
+                    }
+                }
+                int[][] transposed = RowKernels.transpose(matrix);
+                assertEquals(expected.length, transposed.length);
+                for (int col = 0; col < expected.length; col++) {
+                    assertArrayEquals(expected[col], transposed[col]);
+                }
+                if (rows > 0) {
+                    transposed = RowKernels.transpose(CostMatrix.of(matrix));
+                    assertEquals(cols, transposed.length);
+                    for (int col = 0; col < cols; col++) {
+                        assertArrayEquals(expected[col], transposed[col]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class ShortestPathSolverTest {
+
+    @Test
+    public void matchesBruteForceOnRandomMatrices() {
+        Random random = new Random(1);
+        for (int run = 0; run < 1000; run++) {
+            int rows = 1 + random.nextInt(6);
+            int cols = rows + random.nextInt(3);
+            int[][] matrix = BruteForce.matrix(random, rows, cols, -50, run % 2 == 0 ? 4 : 100);
+            for (boolean maximize : new boolean[]{true, false}) {
+                int[] result = new ShortestPathSolver(matrix, maximize).solve();
+                assertTrue(BruteForce.isAssignment(result, cols));
+                assertEquals(BruteForce.optimum(matrix, maximize), BruteForce.total(matrix, result));
+            }
+        }
+    }
+
+    @Test
+    public void reusedWorkspaceGivesSameResult() {
+        Random random = new Random(2);
+        SolverWorkspace workspace = new SolverWorkspace();
+        for (int run = 0; run < 200; run++) {
+            int rows = 1 + random.nextInt(6);
+            int cols = rows + random.nextInt(3);
+            int[][] matrix = BruteForce.matrix(random, rows, cols, 0, 1000);
+            int[] result = new ShortestPathSolver(CostMatrix.of(matrix), true, workspace).solve();
+            assertEquals(BruteForce.optimum(matrix, true), BruteForce.total(matrix, result));
+        }
+    }
+}
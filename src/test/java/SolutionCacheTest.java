@@ -0,0 +1,128 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class SolutionCacheTest {
+
+    private static final List<String> DIVISIONS = Arrays.asList("A", "B", "C", "D", "E");
+
+    private static List<Path> files(Path directory, boolean shapes) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().startsWith("shape-") == shapes)
+                    files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        for (Path file : files(directory, false)) {
+            Files.delete(file);
+        }
+        for (Path file : files(directory, true)) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void hitsAndWarmStartsAreOptimal() throws IOException {
+        Random random = new Random(15);
+        SolutionCache cache = new SolutionCache(8, null);
+        for (int run = 0; run < 500; run++) {
+            int rows = 1 + random.nextInt(5);
+            int[][] matrix = BruteForce.matrix(random, rows, rows + random.nextInt(2), 0, 20);
+            boolean maximize = run % 2 == 0;
+            AssignmentResult result = cache.solve(matrix, DIVISIONS, maximize);
+            assertTrue(BruteForce.isAssignment(result.getAssignment(), matrix[0].length));
+            assertEquals(BruteForce.optimum(matrix, maximize), result.getTotal());
+            // A constant added to a row keeps the entry, the total follows the new matrix.
+            matrix[0] = matrix[0].clone();
+            for (int col = 0; col < matrix[0].length; col++) {
+                matrix[0][col] += 7;
+            }
+            int hits = cache.getHits();
+            assertEquals(BruteForce.optimum(matrix, maximize), cache.solve(matrix, DIVISIONS, maximize).getTotal());
+            assertEquals(hits + 1, cache.getHits());
+        }
+        assertTrue(cache.getWarmStarts() > 0);
+    }
+
+    @Test
+    public void capacitatedMatchesSolver() throws IOException {
+        Random random = new Random(16);
+        SolutionCache cache = new SolutionCache(4, null);
+        for (int run = 0; run < 300; run++) {
+            int n = 1 + random.nextInt(30);
+            int[][] points = BruteForce.matrix(random, n, 5, 0, 40);
+            int[] capacities = run % 2 == 0 ? Assignment.evenCapacities(n) : new int[]{1, 0, 2, 1, 0};
+            CapacitatedSolver solver = new CapacitatedSolver(points, capacities);
+            long expected = solver.getTotal(solver.solve());
+            AssignmentResult result = cache.solveCapacitated(points, capacities, DIVISIONS);
+            assertEquals(expected, result.getTotal());
+            assertEquals(expected, solver.getTotal(result.getAssignment()));
+            int hits = cache.getHits();
+            assertEquals(expected, cache.solveCapacitated(points, capacities, DIVISIONS).getTotal());
+            assertEquals(hits + 1, cache.getHits());
+            // Other capacities are another entry.
+            int misses = cache.getMisses();
+            cache.solveCapacitated(points, new int[]{0, 0, 0, 0, n}, DIVISIONS);
+            assertEquals(misses + 1, cache.getMisses());
+        }
+    }
+
+    @Test
+    public void diskStoreKeepsTheMostRecentlyUsedEntries() throws Exception {
+        Path directory = Files.createTempDirectory("cache");
+        try {
+            Random random = new Random(17);
+            List<int[][]> matrices = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                matrices.add(BruteForce.matrix(random, 3, 4, 0, 1000));
+            }
+            SolutionCache cache = new SolutionCache(2, directory);
+            cache.solve(matrices.get(0), DIVISIONS, true);
+            Thread.sleep(20);
+            cache.solve(matrices.get(1), DIVISIONS, true);
+            Thread.sleep(20);
+            // Using the first entry again keeps it over the second.
+            cache.solve(matrices.get(0), DIVISIONS, true);
+            Thread.sleep(20);
+            cache.solve(matrices.get(2), DIVISIONS, true);
+            assertEquals(2, files(directory, false).size());
+            assertEquals(1, files(directory, true).size());
+
+            SolutionCache restarted = new SolutionCache(2, directory);
+            for (int i : new int[]{0, 2}) {
+                restarted.solve(matrices.get(i), DIVISIONS, true);
+            }
+            assertEquals(2, restarted.getHits());
+            restarted.solve(matrices.get(1), DIVISIONS, true);
+            assertEquals(2, restarted.getHits());
+
+            for (int i = 0; i < 5; i++) {
+                int[][] points = BruteForce.matrix(random, 10, 5, 0, 40);
+                restarted.solveCapacitated(points, Assignment.evenCapacities(10), DIVISIONS);
+            }
+            assertEquals(2, files(directory, false).size());
+        } finally {
+            delete(directory);
+        }
+    }
+}
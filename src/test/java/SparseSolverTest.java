@@ -0,0 +1,84 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Naren Yenuganti
+ */
+
+public class SparseSolverTest {
+
+    /**
+     * Best total over the assignments that only use allowed cells, null if
+     * there is none.
+     */
+    private static Long optimum(int[][] matrix, boolean[][] allowed, boolean maximize) {
+        Long best = null;
+        for (int[] assignment : BruteForce.assignments(matrix.length, matrix[0].length)) {
+            boolean ok = true;
+            for (int row = 0; row < matrix.length && ok; row++) {
+                ok = allowed[row][assignment[row]];
+            }
+            if (!ok)
+                continue;
+            long total = BruteForce.total(matrix, assignment);
+            if (best == null || (maximize ? total > best : total < best))
+                best = total;
+        }
+        return best;
+    }
+
+    @Test
+    public void matchesBruteForceOnRandomMasks() {
+        Random random = new Random(9);
+        for (int run = 0; run < 1000; run++) {
+            int rows = 1 + random.nextInt(6);
+            int cols = rows + random.nextInt(3);
+            boolean maximize = run % 2 == 0;
+            int[][] matrix = BruteForce.matrix(random, rows, cols, -50, 100);
+            boolean[][] allowed = new boolean[rows][cols];
+            SparseCostMatrix.Builder builder = new SparseCostMatrix.Builder(rows, cols);
+            int density = 30 + random.nextInt(70);
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    if (random.nextInt(100) < density) {
+                        allowed[row][col] = true;
+                        builder.add(row, col, matrix[row][col]);
+                    }
+                }
+            }
+            SparseSolver solver = new SparseSolver(builder.build(), maximize);
+            Long expected = optimum(matrix, allowed, maximize);
+            if (expected == null) {
+                try {
+                    solver.solve();
+                    fail("Solved an infeasible instance");
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+            }
+            int[] result = solver.solve();
+            assertTrue(BruteForce.isAssignment(result, cols));
+            for (int row = 0; row < rows; row++) {
+                assertTrue(allowed[row][result[row]]);
+            }
+            assertEquals(expected.longValue(), solver.getTotal(result));
+            assertEquals(expected.longValue(), BruteForce.total(matrix, result));
+        }
+    }
+
+    @Test
+    public void denseMatrixMatchesShortestPath() {
+        Random random = new Random(10);
+        for (int run = 0; run < 50; run++) {
+            int[][] matrix = BruteForce.matrix(random, 20, 25, 0, 1000);
+            SparseSolver sparse = new SparseSolver(SparseCostMatrix.fromDense(matrix, -1), false);
+            ShortestPathSolver dense = new ShortestPathSolver(matrix, false);
+            assertEquals(BruteForce.total(matrix, dense.solve()), sparse.getTotal(sparse.solve()));
+        }
+    }
+}